@@ -0,0 +1,72 @@
+package com.example.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String EVENTS_EXCHANGE = "smunch.events";
+
+    // Routing Key
+    public static final String MENU_ITEM_CHANGED_KEY = "menu.item.changed";
+    public static final String ORDER_CREATED_KEY = "order.created";
+
+    public static final String ORDER_EVENTS_QUEUE_PREFIX = "menu.order-events.";
+    public static final String MENU_CHANGES_QUEUE_PREFIX = "menu.cache-invalidation.";
+
+    @Bean
+    public TopicExchange eventsExchange() {
+        return new TopicExchange(EVENTS_EXCHANGE);
+    }
+
+    // Exclusive, auto-delete queue per instance: popularity counters live in
+    // memory, so every instance needs to see every order.
+    @Bean
+    public Queue orderEventsQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(ORDER_EVENTS_QUEUE_PREFIX));
+    }
+
+    @Bean
+    public Binding orderEventsBinding(Queue orderEventsQueue, TopicExchange eventsExchange) {
+        return BindingBuilder.bind(orderEventsQueue)
+                .to(eventsExchange)
+                .with(ORDER_CREATED_KEY);
+    }
+
+    // Also one per instance: every instance caches menus and has to drop the
+    // ones changed through another instance.
+    @Bean
+    public Queue menuChangesQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(MENU_CHANGES_QUEUE_PREFIX));
+    }
+
+    @Bean
+    public Binding menuChangesBinding(Queue menuChangesQueue, TopicExchange eventsExchange) {
+        return BindingBuilder.bind(menuChangesQueue)
+                .to(eventsExchange)
+                .with(MENU_ITEM_CHANGED_KEY);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter converter) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(converter);
+        return template;
+    }
+}
@@ -1,10 +1,20 @@
 package com.example.controller;
 
+import com.example.dto.AvailabilityUpdateRequest;
+import com.example.dto.AvailabilityUpdateResult;
 import com.example.model.Menu;
+import com.example.service.MenuPopularity;
 import com.example.service.MenuService;
+import com.example.service.RenderedMenu;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -14,14 +24,56 @@ import java.util.Map;
 public class MenuController {
 
     private final MenuService menuService;
+    private final MenuPopularity menuPopularity;
 
     // GET /api/merchants/{merchantId}/menu?includeUnavailable=true
+    // Served from the pre-rendered cache entry; 304 when If-None-Match matches.
+    // With limit, cursor or fields: one keyset page {items, nextCursor} from the database.
+    // With sort=popular: most ordered first over window=hour|today, from in-memory counters.
     @GetMapping
-    public ResponseEntity<List<Menu>> getMenuByMerchantId(
+    public ResponseEntity<?> getMenuByMerchantId(
             @PathVariable Long merchantId,
-            @RequestParam(defaultValue = "false") boolean includeUnavailable) {
-        List<Menu> menuItems = menuService.getMenuItemsByMerchantId(merchantId, includeUnavailable);
-        return ResponseEntity.ok(menuItems);
+            @RequestParam(defaultValue = "false") boolean includeUnavailable,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String window,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        if ("popular".equals(sort)) {
+            if (limit != null || cursor != null || fields != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "sort=popular cannot be combined with limit, cursor or fields");
+            }
+            List<Menu> items = menuService.getMenuItemsByMerchantId(merchantId, includeUnavailable);
+            return ResponseEntity.ok(menuPopularity.sortByPopularity(items, MenuPopularity.window(window), Instant.now()));
+        }
+        if (sort != null && !"default".equals(sort)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sort must be default or popular");
+        }
+        if (limit != null || cursor != null || fields != null) {
+            return ResponseEntity.ok(menuService.getMenuPage(merchantId, includeUnavailable, cursor, limit, fields));
+        }
+
+        RenderedMenu menu = menuService.getRenderedMenu(merchantId, includeUnavailable);
+        boolean gzip = menu.hasGzip() && acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? menu.gzipEtag() : menu.etag();
+
+        if (webRequest.checkNotModified(etag)) { // sets 304 and the ETag header
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(menu.gzip());
+        }
+        return response.body(menu.json());
     }
 
     // POST /api/merchants/{merchantId}/menu
@@ -45,6 +97,15 @@ public class MenuController {
         return ResponseEntity.ok(updated);
     }
 
+    // PATCH /api/merchants/{merchantId}/menu/availability
+    // Bulk sold-out / back-in-stock by item ids or by type, in one UPDATE.
+    @PatchMapping("/availability")
+    public ResponseEntity<AvailabilityUpdateResult> updateAvailability(
+            @PathVariable Long merchantId,
+            @RequestBody AvailabilityUpdateRequest request) {
+        return ResponseEntity.ok(menuService.updateAvailability(merchantId, request));
+    }
+
     // POST /api/merchants/{merchantId}/menu/items
     @PostMapping("/items")
     public ResponseEntity<Map<String, Object>> getMenuItemsByIds(
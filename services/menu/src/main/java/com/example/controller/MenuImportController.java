@@ -0,0 +1,50 @@
+package com.example.controller;
+
+import com.example.dto.MenuImportResult;
+import com.example.service.MenuImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/merchants/{merchantId}/menu")
+@RequiredArgsConstructor
+public class MenuImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final MenuImportService menuImportService;
+
+    // POST /api/merchants/{merchantId}/menu/import  (Content-Type: text/csv or application/x-ndjson)
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON})
+    public ResponseEntity<MenuImportResult> importMenu(
+            @PathVariable Long merchantId,
+            HttpServletRequest request) throws IOException {
+        String format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.valueOf(NDJSON))
+                ? MenuImportService.FORMAT_NDJSON
+                : MenuImportService.FORMAT_CSV;
+        MenuImportResult result = menuImportService.importItems(merchantId, format, request.getInputStream());
+        return ResponseEntity.ok(result);
+    }
+
+    // GET /api/merchants/{merchantId}/menu/export?format=csv|ndjson
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMenu(
+            @PathVariable Long merchantId,
+            @RequestParam(defaultValue = MenuImportService.FORMAT_CSV) String format) {
+        boolean csv = !MenuImportService.FORMAT_NDJSON.equals(format);
+        String filename = "menu-" + merchantId + (csv ? ".csv" : ".ndjson");
+        StreamingResponseBody body = out -> menuImportService.exportItems(merchantId,
+                csv ? MenuImportService.FORMAT_CSV : MenuImportService.FORMAT_NDJSON, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.valueOf(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
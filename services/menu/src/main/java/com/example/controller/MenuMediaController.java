@@ -0,0 +1,41 @@
+package com.example.controller;
+
+import com.example.model.MenuMedia;
+import com.example.service.MenuMediaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/menu")
+@RequiredArgsConstructor
+public class MenuMediaController {
+
+    // The path is the SHA-256 of the bytes, so a response never goes stale
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final MenuMediaService menuMediaService;
+
+    // GET /api/menu/media/{hash}
+    @GetMapping("/media/{hash}")
+    public ResponseEntity<byte[]> getMedia(@PathVariable String hash, WebRequest webRequest) {
+        String etag = "\"" + hash + "\"";
+        if (webRequest.checkNotModified(etag)) { // the hash is the content; no lookup needed
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(IMMUTABLE).build();
+        }
+
+        MenuMedia media = menuMediaService.get(hash);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(media.getContentType()))
+                .eTag(etag)
+                .cacheControl(IMMUTABLE)
+                .header("X-Content-Type-Options", "nosniff")
+                .body(media.getData());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.controller;
+
+import com.example.dto.PriceVerifyRequest;
+import com.example.dto.PriceVerifyResponse;
+import com.example.model.MenuItemPrice;
+import com.example.service.MenuPriceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/menu")
+@RequiredArgsConstructor
+public class MenuPriceController {
+
+    private final MenuPriceService menuPriceService;
+
+    // POST /api/menu/prices/verify
+    // { "merchants": [ { "merchantId": 1, "items": [ { "itemId": 3, "priceVersion": 2 } ] } ] }
+    @PostMapping("/prices/verify")
+    public ResponseEntity<PriceVerifyResponse> verify(@RequestBody PriceVerifyRequest request) {
+        return ResponseEntity.ok(menuPriceService.verify(request));
+    }
+
+    // GET /api/menu/items/{menuItemId}/prices
+    @GetMapping("/items/{menuItemId}/prices")
+    public ResponseEntity<List<MenuItemPrice>> getPriceHistory(@PathVariable Long menuItemId) {
+        return ResponseEntity.ok(menuPriceService.getPriceHistory(menuItemId));
+    }
+
+    // GET /api/menu/items/{menuItemId}/prices/{version}
+    // A version never changes once written, so clients and proxies may keep it indefinitely.
+    @GetMapping("/items/{menuItemId}/prices/{version}")
+    public ResponseEntity<MenuItemPrice> getPriceVersion(@PathVariable Long menuItemId, @PathVariable int version) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .body(menuPriceService.getPriceVersion(menuItemId, version));
+    }
+}
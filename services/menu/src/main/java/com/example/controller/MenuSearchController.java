@@ -0,0 +1,28 @@
+package com.example.controller;
+
+import com.example.dto.MenuSearchResponse;
+import com.example.service.MenuSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/menu")
+@RequiredArgsConstructor
+public class MenuSearchController {
+
+    private final MenuSearchIndex menuSearchIndex;
+
+    // GET /api/menu/search?q=chicken rice under $5&available=true&limit=20
+    @GetMapping("/search")
+    public ResponseEntity<MenuSearchResponse> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long merchantId,
+            @RequestParam(required = false) Integer minPriceCents,
+            @RequestParam(required = false) Integer maxPriceCents,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(
+                menuSearchIndex.search(q, merchantId, minPriceCents, maxPriceCents, available, limit));
+    }
+}
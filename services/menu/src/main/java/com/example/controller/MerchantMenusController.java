@@ -0,0 +1,74 @@
+package com.example.controller;
+
+import com.example.service.MenuService;
+import com.example.service.RenderedMenu;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/menu")
+@RequiredArgsConstructor
+public class MerchantMenusController {
+
+    private static final byte[] OPEN = "{\"menus\":{".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLOSE = "}}".getBytes(StandardCharsets.US_ASCII);
+
+    private final MenuService menuService;
+
+    // GET /api/menu/merchants?merchantIds=4,5,6&includeUnavailable=false
+    // {"menus": {"4": [...], "5": [...]}} - each menu is copied from its pre-rendered cache entry.
+    // The ETag combines the per-merchant ETags, so a food-court page revalidates with one 304.
+    @GetMapping("/merchants")
+    public ResponseEntity<StreamingResponseBody> getMenus(
+            @RequestParam(required = false) List<Long> merchantIds,
+            @RequestParam(defaultValue = "false") boolean includeUnavailable,
+            WebRequest webRequest) {
+        Map<Long, RenderedMenu> menus = menuService.getRenderedMenus(merchantIds, includeUnavailable);
+        String etag = combinedEtag(menus);
+
+        if (webRequest.checkNotModified(etag)) { // sets 304 and the ETag header
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        StreamingResponseBody body = out -> {
+            out.write(OPEN);
+            boolean first = true;
+            for (Map.Entry<Long, RenderedMenu> menu : menus.entrySet()) {
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+                out.write(("\"" + menu.getKey() + "\":").getBytes(StandardCharsets.US_ASCII));
+                out.write(menu.getValue().json());
+            }
+            out.write(CLOSE);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .body(body);
+    }
+
+    private static String combinedEtag(Map<Long, RenderedMenu> menus) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            menus.forEach((merchantId, menu) ->
+                    digest.update((merchantId + "=" + menu.etag() + ";").getBytes(StandardCharsets.US_ASCII)));
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.controller;
+
+import com.example.dto.PriceQuoteRequest;
+import com.example.dto.PriceQuoteResponse;
+import com.example.service.PriceQuoteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/menu")
+@RequiredArgsConstructor
+public class PriceQuoteController {
+
+    private final PriceQuoteService priceQuoteService;
+
+    // POST /api/menu/quotes
+    // { "merchants": [ { "merchantId": 1, "itemIds": [1, 2] }, ... ] }
+    @PostMapping("/quotes")
+    public ResponseEntity<PriceQuoteResponse> quote(@RequestBody PriceQuoteRequest request) {
+        return ResponseEntity.ok(priceQuoteService.quote(request));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Either itemIds or type selects the items; not both. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityUpdateRequest {
+    private List<Long> itemIds;
+    private String type;
+    private String availabilityStatus;
+}
@@ -0,0 +1,16 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityUpdateResult {
+    private String availabilityStatus;
+    private List<Long> updated;   // items whose status changed
+    private List<Long> unchanged; // items that already had the requested status
+}
@@ -0,0 +1,15 @@
+package com.example.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class MenuImportResult {
+    private long received;
+    private long inserted;
+    private long duplicates;
+    private long rejected;
+    private List<String> errors = new ArrayList<>(); // first 100 rejected rows
+}
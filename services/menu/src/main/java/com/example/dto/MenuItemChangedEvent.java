@@ -0,0 +1,31 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of a menu.item.changed message: the latest change per item of one
+ * merchant since the previous message. Consumers should ignore an item whose
+ * revision is not newer than the one they already hold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemChangedEvent {
+    private Long merchantId;
+    private List<ItemChange> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemChange {
+        private Long menuItemId;
+        private long revision;
+        private String changeType;
+        private Integer priceCents;
+        private String availabilityStatus;
+    }
+}
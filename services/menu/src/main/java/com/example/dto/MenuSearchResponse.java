@@ -0,0 +1,38 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuSearchResponse {
+    private int total; // matches after filters; results holds the top `limit` of them
+    private List<SearchHit> results;
+    private Facets facets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchHit {
+        private long menuItemId;
+        private long merchantId;
+        private String name;
+        private int priceCents;
+        private String type;
+        private boolean available;
+        private float score;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Facets {
+        private Map<String, Long> availability;
+        private Map<String, Long> price;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The parts of an order.created message (orders service) that the popularity
+ * counters need; everything else in the payload is ignored.
+ *
+ * The order itself is snake_case (orders' toDTO), but its items are the
+ * camelCase objects built by getFullOrderById.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OrderCreatedEvent {
+
+    private Order order;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Order {
+
+        @JsonProperty("order_id")
+        private Long orderId;
+
+        @JsonProperty("merchant_id")
+        private Long merchantId;
+
+        private List<Item> items;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Item {
+
+        private Long menuItemId;
+
+        private Integer qty;
+    }
+}
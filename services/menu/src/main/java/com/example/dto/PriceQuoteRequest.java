@@ -0,0 +1,22 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteRequest {
+    private List<MerchantItems> merchants;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MerchantItems {
+        private Long merchantId;
+        private List<Long> itemIds;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteResponse {
+    private List<MerchantQuote> merchants;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MerchantQuote {
+        private Long merchantId;
+        private List<ItemQuote> items;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemQuote {
+        private long itemId;
+        private String name;
+        private int priceCents;
+        private int priceVersion; // pass to /api/menu/prices/verify at checkout
+        private boolean available;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceVerifyRequest {
+    private List<MerchantItems> merchants;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MerchantItems {
+        private Long merchantId;
+        private List<ItemVersion> items;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemVersion {
+        private Long itemId;
+        private int priceVersion; // as returned by /menu/items or /menu/quotes
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceVerifyResponse {
+    private boolean valid;             // true when no price changed
+    private List<ChangedPrice> changed;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChangedPrice {
+        private Long merchantId;
+        private Long itemId;
+        private Integer priceVersion; // current; null when the item no longer exists
+        private Integer priceCents;
+    }
+}
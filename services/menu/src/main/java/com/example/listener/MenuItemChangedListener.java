@@ -0,0 +1,29 @@
+package com.example.listener;
+
+import com.example.dto.MenuItemChangedEvent;
+import com.example.service.MenuCache;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached menus changed on any instance, this one included (its own
+ * eviction already happened at commit, so the repeat only costs one reload).
+ */
+@Component
+public class MenuItemChangedListener {
+
+    private final MenuCache menuCache;
+
+    public MenuItemChangedListener(MenuCache menuCache) {
+        this.menuCache = menuCache;
+    }
+
+    @RabbitListener(queues = "#{menuChangesQueue.name}")
+    public void handleMenuItemChanged(MenuItemChangedEvent message) {
+        if (message.getMerchantId() == null) {
+            System.out.println("Ignoring menu.item.changed without merchant");
+            return;
+        }
+        menuCache.invalidate(message.getMerchantId());
+    }
+}
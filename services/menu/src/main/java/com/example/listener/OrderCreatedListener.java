@@ -0,0 +1,34 @@
+package com.example.listener;
+
+import com.example.dto.OrderCreatedEvent;
+import com.example.service.MenuPopularity;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+public class OrderCreatedListener {
+
+    private final MenuPopularity menuPopularity;
+
+    public OrderCreatedListener(MenuPopularity menuPopularity) {
+        this.menuPopularity = menuPopularity;
+    }
+
+    @RabbitListener(queues = "#{orderEventsQueue.name}")
+    public void handleOrderCreated(OrderCreatedEvent message) {
+        OrderCreatedEvent.Order order = message.getOrder();
+        if (order == null || order.getMerchantId() == null || order.getItems() == null) {
+            System.out.println("Ignoring order.created without merchant or items");
+            return;
+        }
+
+        Instant now = Instant.now();
+        for (OrderCreatedEvent.Item item : order.getItems()) {
+            if (item.getMenuItemId() != null && item.getQty() != null && item.getQty() > 0) {
+                menuPopularity.record(order.getMerchantId(), item.getMenuItemId(), item.getQty(), now);
+            }
+        }
+    }
+}
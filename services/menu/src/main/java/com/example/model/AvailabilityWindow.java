@@ -0,0 +1,23 @@
+package com.example.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One weekly window in which a menu item can be ordered, in Asia/Singapore
+ * time: {@code days} such as ["MON", "TUE"], from {@code from} (inclusive) to
+ * {@code to} (exclusive), both "HH:mm". A window whose {@code to} is not after
+ * its {@code from} runs past midnight into the next day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityWindow {
+
+    private List<String> days;
+    private String from;
+    private String to;
+}
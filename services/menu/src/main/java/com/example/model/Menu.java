@@ -1,10 +1,19 @@
 package com.example.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.List;
 
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items", indexes = {
+        @Index(name = "ux_menu_items_merchant_content", columnList = "merchant_id, content_hash", unique = true),
+        @Index(name = "idx_menu_items_merchant_page", columnList = "merchant_id, type, name, menu_item_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,4 +46,50 @@ public class Menu {
 
     @Column(name = "availability_status", nullable = false)
     private String availabilityStatus; // available, out_of_stock, removed
+
+    // Weekly windows in which an available item is shown; null means always (see AvailabilitySchedule)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "availability_schedule")
+    private List<AvailabilityWindow> availabilitySchedule;
+
+    // Optimistic-lock version, bumped on every update; carried by menu.item.changed events
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long revision;
+
+    // Current entry in menu_item_prices; bumped only when priceCents changes
+    @Column(name = "price_version", nullable = false, columnDefinition = "integer default 1")
+    private int priceVersion;
+
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // see MenuContentHash
+
+    // Hash of the content as last loaded or saved, whether or not content_hash holds it
+    @JsonIgnore
+    @Transient
+    private String persistedContentHash;
+
+    /**
+     * Recomputes content_hash. A legacy duplicate row (null hash, see
+     * MenuContentHashBackfill) keeps its null hash until one of the hashed
+     * fields actually changes, so state-only updates such as an availability
+     * toggle do not collide with the item it duplicates.
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateContentHash() {
+        String hash = MenuContentHash.of(this);
+        if (contentHash != null || !hash.equals(persistedContentHash)) {
+            contentHash = hash;
+        }
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    public void markContentPersisted() {
+        persistedContentHash = MenuContentHash.of(this);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 over the fields that make two menu items "the same item": name,
+ * description, price, image and type. Stored in menu_items.content_hash with a
+ * unique index per merchant, so duplicate checks are a single index probe.
+ *
+ * Availability is deliberately left out: it is state rather than content, and
+ * bulk availability changes can then be a plain UPDATE without rehashing.
+ */
+public final class MenuContentHash {
+
+    private static final char SEPARATOR = '\u001F';
+    private static final char NULL = '\u0000';
+
+    private MenuContentHash() {
+    }
+
+    public static String of(Menu item) {
+        StringBuilder key = new StringBuilder(128);
+        append(key, item.getName());
+        append(key, item.getDescription());
+        append(key, item.getPriceCents() == null ? null : item.getPriceCents().toString());
+        append(key, item.getImageUrl());
+        append(key, item.getType());
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void append(StringBuilder key, String value) {
+        key.append(value == null ? String.valueOf(NULL) : value).append(SEPARATOR);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Units of a menu item ordered on one day (Asia/Singapore), as last flushed
+ * from the in-memory counters. Reloaded on startup so "today" survives a
+ * restart.
+ */
+@Entity
+@Table(name = "menu_item_popularity", indexes = {
+        @Index(name = "ux_menu_item_popularity_item_date", columnList = "menu_item_id, order_date", unique = true),
+        @Index(name = "idx_menu_item_popularity_date", columnList = "order_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuItemPopularity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+
+    @Column(name = "merchant_id", nullable = false)
+    private Long merchantId;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDate orderDate;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
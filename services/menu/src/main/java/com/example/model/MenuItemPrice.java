@@ -0,0 +1,52 @@
+package com.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One price a menu item has had. Rows are only ever inserted: a price change
+ * bumps Menu.priceVersion and appends the next version, so (menuItemId,
+ * version) keeps meaning the same price forever.
+ */
+@Entity
+@Table(name = "menu_item_prices", indexes = {
+        @Index(name = "ux_menu_item_prices_item_version", columnList = "menu_item_id, version", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuItemPrice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+
+    @Column(name = "merchant_id", nullable = false)
+    private Long merchantId;
+
+    @Column(nullable = false)
+    private int version;
+
+    @Column(name = "price_cents", nullable = false)
+    private Integer priceCents;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public static MenuItemPrice of(Menu item) {
+        return MenuItemPrice.builder()
+                .menuItemId(item.getMenuItemId())
+                .merchantId(item.getMerchantId())
+                .version(item.getPriceVersion())
+                .priceCents(item.getPriceCents())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
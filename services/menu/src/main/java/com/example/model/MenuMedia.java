@@ -0,0 +1,34 @@
+package com.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Image bytes that used to be pasted into menu_items.image_url as data URIs.
+ * Keyed by the SHA-256 of the bytes, so identical images are stored once and
+ * a row never changes after it is written.
+ */
+@Entity
+@Table(name = "menu_media")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuMedia {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,65 @@
+package com.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One menu item change, written in the same transaction as the change itself
+ * and published to smunch.events by MenuEventPublisher.
+ */
+@Entity
+@Table(name = "menu_outbox", indexes = {
+        @Index(name = "idx_menu_outbox_unpublished", columnList = "published_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuOutboxEvent {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "merchant_id", nullable = false)
+    private Long merchantId;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+
+    @Column(nullable = false)
+    private long revision;
+
+    @Column(name = "change_type", nullable = false, length = 16)
+    private String changeType;
+
+    @Column(name = "price_cents")
+    private Integer priceCents;
+
+    @Column(name = "availability_status")
+    private String availabilityStatus;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public static MenuOutboxEvent of(Menu item, String changeType) {
+        return MenuOutboxEvent.builder()
+                .merchantId(item.getMerchantId())
+                .menuItemId(item.getMenuItemId())
+                .revision(item.getRevision())
+                .changeType(changeType)
+                .priceCents(item.getPriceCents())
+                .availabilityStatus(item.getAvailabilityStatus())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.repository;
+
+/** Id and status only, for bulk availability changes. */
+public interface MenuItemAvailability {
+    Long getMenuItemId();
+    String getAvailabilityStatus();
+}
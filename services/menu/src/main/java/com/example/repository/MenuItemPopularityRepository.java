@@ -0,0 +1,32 @@
+package com.example.repository;
+
+import com.example.model.MenuItemPopularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MenuItemPopularityRepository extends JpaRepository<MenuItemPopularity, Long> {
+
+    List<MenuItemPopularity> findByOrderDate(LocalDate orderDate);
+
+    // Every instance counts every order, so the larger count is the more complete one
+    @Modifying
+    @Query(value = """
+        INSERT INTO menu_item_popularity (menu_item_id, merchant_id, order_date, order_count, updated_at)
+        VALUES (:menuItemId, :merchantId, :orderDate, :orderCount, :updatedAt)
+        ON CONFLICT (menu_item_id, order_date) DO UPDATE
+        SET order_count = GREATEST(menu_item_popularity.order_count, EXCLUDED.order_count),
+            updated_at = EXCLUDED.updated_at
+    """, nativeQuery = true)
+    int upsert(Long menuItemId, Long merchantId, LocalDate orderDate, long orderCount, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM MenuItemPopularity p WHERE p.orderDate < :cutoff")
+    int deleteByOrderDateBefore(LocalDate cutoff);
+}
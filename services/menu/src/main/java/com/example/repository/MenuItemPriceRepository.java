@@ -0,0 +1,31 @@
+package com.example.repository;
+
+import com.example.model.MenuItemPrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MenuItemPriceRepository extends JpaRepository<MenuItemPrice, Long> {
+
+    Optional<MenuItemPrice> findByMenuItemIdAndVersion(Long menuItemId, int version);
+
+    List<MenuItemPrice> findByMenuItemIdOrderByVersionDesc(Long menuItemId);
+
+    // Items created before price history existed get their current price as a version
+    @Modifying
+    @Query(value = """
+        INSERT INTO menu_item_prices (menu_item_id, merchant_id, version, price_cents, created_at)
+        SELECT m.menu_item_id, m.merchant_id, m.price_version, m.price_cents, now()
+        FROM menu_items m
+        WHERE NOT EXISTS (
+            SELECT 1 FROM menu_item_prices p
+            WHERE p.menu_item_id = m.menu_item_id AND p.version = m.price_version
+        )
+    """, nativeQuery = true)
+    int backfillCurrentPrices();
+}
@@ -0,0 +1,19 @@
+package com.example.repository;
+
+import com.example.model.AvailabilityWindow;
+
+import java.util.List;
+
+/** Columns for list views; leaves out description and image_url. */
+public interface MenuItemSummary {
+    Long getMenuItemId();
+    Long getMerchantId();
+    String getName();
+    Integer getPriceCents();
+    int getPriceVersion();
+    String getType();
+    String getAvailabilityStatus();
+    // Not a page field; read so available-only pages can apply the schedule
+    List<AvailabilityWindow> getAvailabilitySchedule();
+    long getRevision();
+}
@@ -0,0 +1,22 @@
+package com.example.repository;
+
+import com.example.model.MenuMedia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface MenuMediaRepository extends JpaRepository<MenuMedia, String> {
+
+    // Content-addressed, so an existing row already holds the same bytes
+    @Modifying
+    @Query(value = """
+        INSERT INTO menu_media (hash, content_type, data, created_at)
+        VALUES (:hash, :contentType, :data, :createdAt)
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(String hash, String contentType, byte[] data, LocalDateTime createdAt);
+}
@@ -0,0 +1,42 @@
+package com.example.repository;
+
+import com.example.model.MenuOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MenuOutboxRepository extends JpaRepository<MenuOutboxEvent, Long> {
+
+    // SKIP LOCKED lets several service instances drain the outbox without double-publishing
+    @Query(value = """
+        SELECT * FROM menu_outbox
+        WHERE published_at IS NULL
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<MenuOutboxEvent> claimUnpublished(int limit);
+
+    // One UPDATED row per item, copied from the items' current state
+    @Modifying
+    @Query(value = """
+        INSERT INTO menu_outbox (merchant_id, menu_item_id, revision, change_type, price_cents, availability_status, created_at)
+        SELECT merchant_id, menu_item_id, revision, 'UPDATED', price_cents, availability_status, now()
+        FROM menu_items
+        WHERE menu_item_id IN (:menuItemIds)
+    """, nativeQuery = true)
+    int insertUpdated(List<Long> menuItemIds);
+
+    @Modifying
+    @Query("UPDATE MenuOutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(List<Long> ids, LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM MenuOutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(LocalDateTime cutoff);
+}
@@ -1,11 +1,14 @@
 package com.example.repository;
 
 import com.example.model.Menu;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface MenuRepository extends JpaRepository<Menu, Long> {
@@ -18,10 +21,94 @@ public interface MenuRepository extends JpaRepository<Menu, Long> {
     """)
     List<Menu> findByMerchantId(Long merchantId, boolean includeUnavailable);
 
-    Optional<Menu> findByMerchantIdAndNameAndDescriptionAndPriceCentsAndImageUrlAndAvailabilityStatusAndType(
-        Long merchantId, String name, String description, Integer priceCents,
-        String imageUrl, String availabilityStatus, String type
-    );
+    // Food-court menus: every stall in one round trip, grouped by merchant
+    @Query("""
+        SELECT m FROM Menu m
+        WHERE m.merchantId IN :merchantIds
+        AND (:includeUnavailable = true OR m.availabilityStatus = 'available')
+        ORDER BY m.merchantId ASC, m.type ASC, m.name ASC
+    """)
+    List<Menu> findByMerchantIdIn(List<Long> merchantIds, boolean includeUnavailable);
+
+    // Keyset pages in (type, name, menuItemId) order, walking idx_menu_items_merchant_page.
+    // The summary variants never read description or image_url.
+    @Query("""
+        SELECT m FROM Menu m
+        WHERE m.merchantId = :merchantId
+        AND (:includeUnavailable = true OR m.availabilityStatus = 'available')
+        ORDER BY m.type ASC, m.name ASC, m.menuItemId ASC
+    """)
+    List<Menu> findFirstPage(Long merchantId, boolean includeUnavailable, Limit limit);
+
+    @Query("""
+        SELECT m FROM Menu m
+        WHERE m.merchantId = :merchantId
+        AND (:includeUnavailable = true OR m.availabilityStatus = 'available')
+        AND (m.type, m.name, m.menuItemId) > (:afterType, :afterName, :afterId)
+        ORDER BY m.type ASC, m.name ASC, m.menuItemId ASC
+    """)
+    List<Menu> findPageAfter(Long merchantId, boolean includeUnavailable,
+                             String afterType, String afterName, Long afterId, Limit limit);
+
+    @Query("""
+        SELECT m.menuItemId AS menuItemId, m.merchantId AS merchantId, m.name AS name,
+               m.priceCents AS priceCents, m.priceVersion AS priceVersion, m.type AS type, m.availabilityStatus AS availabilityStatus,
+               m.availabilitySchedule AS availabilitySchedule, m.revision AS revision
+        FROM Menu m
+        WHERE m.merchantId = :merchantId
+        AND (:includeUnavailable = true OR m.availabilityStatus = 'available')
+        ORDER BY m.type ASC, m.name ASC, m.menuItemId ASC
+    """)
+    List<MenuItemSummary> findFirstSummaryPage(Long merchantId, boolean includeUnavailable, Limit limit);
+
+    @Query("""
+        SELECT m.menuItemId AS menuItemId, m.merchantId AS merchantId, m.name AS name,
+               m.priceCents AS priceCents, m.priceVersion AS priceVersion, m.type AS type, m.availabilityStatus AS availabilityStatus,
+               m.availabilitySchedule AS availabilitySchedule, m.revision AS revision
+        FROM Menu m
+        WHERE m.merchantId = :merchantId
+        AND (:includeUnavailable = true OR m.availabilityStatus = 'available')
+        AND (m.type, m.name, m.menuItemId) > (:afterType, :afterName, :afterId)
+        ORDER BY m.type ASC, m.name ASC, m.menuItemId ASC
+    """)
+    List<MenuItemSummary> findSummaryPageAfter(Long merchantId, boolean includeUnavailable,
+                                               String afterType, String afterName, Long afterId, Limit limit);
+
+    // Probes ux_menu_items_merchant_content
+    boolean existsByMerchantIdAndContentHash(Long merchantId, String contentHash);
+
+    @Query("SELECT m.contentHash FROM Menu m WHERE m.merchantId = :merchantId AND m.contentHash IS NOT NULL")
+    List<String> findContentHashesByMerchantId(Long merchantId);
+
+    List<Menu> findByContentHashIsNull();
+
+    // Items still carrying an inline data: URI image
+    List<Menu> findByImageUrlStartingWith(String prefix);
 
     List<Menu> findByMerchantIdAndMenuItemIdIn(Long merchantId, List<Long> menuItemIds);
+
+    // Row locks keep the UPDATE and its outbox rows in agreement with what was read here
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT m.menuItemId AS menuItemId, m.availabilityStatus AS availabilityStatus FROM Menu m
+        WHERE m.merchantId = :merchantId AND m.menuItemId IN :menuItemIds
+        ORDER BY m.menuItemId
+    """)
+    List<MenuItemAvailability> lockAvailabilityByIds(Long merchantId, List<Long> menuItemIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT m.menuItemId AS menuItemId, m.availabilityStatus AS availabilityStatus FROM Menu m
+        WHERE m.merchantId = :merchantId AND m.type = :type
+        ORDER BY m.menuItemId
+    """)
+    List<MenuItemAvailability> lockAvailabilityByType(Long merchantId, String type);
+
+    // Bulk JPQL updates bypass @Version, so the revision is bumped explicitly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Menu m SET m.availabilityStatus = :availabilityStatus, m.revision = m.revision + 1
+        WHERE m.menuItemId IN :menuItemIds
+    """)
+    int updateAvailability(List<Long> menuItemIds, String availabilityStatus);
 }
@@ -0,0 +1,131 @@
+package com.example.service;
+
+import com.example.model.AvailabilityWindow;
+import com.example.model.Menu;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An item's weekly availability windows compiled to one bit per minute of
+ * the week (Monday 00:00 = bit 0, Asia/Singapore), so "is it open now" is a
+ * single bit test and the next opening or closing is a bit scan.
+ */
+public final class AvailabilitySchedule {
+
+    public static final ZoneId ZONE = ZoneId.of("Asia/Singapore");
+    public static final int MINUTES_PER_WEEK = 7 * 24 * 60;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MON", DayOfWeek.MONDAY, "TUE", DayOfWeek.TUESDAY, "WED", DayOfWeek.WEDNESDAY,
+            "THU", DayOfWeek.THURSDAY, "FRI", DayOfWeek.FRIDAY, "SAT", DayOfWeek.SATURDAY,
+            "SUN", DayOfWeek.SUNDAY);
+
+    private final BitSet open;
+
+    private AvailabilitySchedule(BitSet open) {
+        this.open = open;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a window has no days, an unknown
+     *         day, or a time that is not "HH:mm"
+     */
+    public static AvailabilitySchedule of(List<AvailabilityWindow> windows) {
+        BitSet open = new BitSet(MINUTES_PER_WEEK);
+        for (AvailabilityWindow window : windows) {
+            if (window == null || window.getDays() == null || window.getDays().isEmpty()) {
+                throw new IllegalArgumentException("every availability window needs at least one day");
+            }
+            int from = minuteOfDay(window.getFrom());
+            int to = minuteOfDay(window.getTo());
+            int length = to > from ? to - from : MINUTES_PER_DAY - from + to;
+            for (String day : window.getDays()) {
+                DayOfWeek dayOfWeek = day == null ? null : DAYS.get(day.toUpperCase());
+                if (dayOfWeek == null) {
+                    throw new IllegalArgumentException("unknown day '" + day + "', expected one of MON..SUN");
+                }
+                int start = (dayOfWeek.getValue() - 1) * MINUTES_PER_DAY + from;
+                int end = start + length;
+                open.set(start, Math.min(end, MINUTES_PER_WEEK));
+                if (end > MINUTES_PER_WEEK) { // Sunday night into Monday
+                    open.set(0, end - MINUTES_PER_WEEK);
+                }
+            }
+        }
+        return new AvailabilitySchedule(open);
+    }
+
+    /**
+     * Schedules parallel to {@code items} (null where an item has none), or
+     * null when no item is scheduled at all. Items with identical windows share
+     * one instance.
+     */
+    static AvailabilitySchedule[] compile(List<Menu> items) {
+        AvailabilitySchedule[] schedules = null;
+        Map<List<AvailabilityWindow>, AvailabilitySchedule> compiled = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            List<AvailabilityWindow> windows = items.get(i).getAvailabilitySchedule();
+            if (windows == null || windows.isEmpty()) {
+                continue;
+            }
+            if (schedules == null) {
+                schedules = new AvailabilitySchedule[items.size()];
+            }
+            schedules[i] = compiled.computeIfAbsent(windows, AvailabilitySchedule::of);
+        }
+        return schedules;
+    }
+
+    /** Whether {@code windows} (null or empty meaning always) include the given minute. */
+    public static boolean isOpen(List<AvailabilityWindow> windows, int minuteOfWeek) {
+        return windows == null || windows.isEmpty() || of(windows).isOpen(minuteOfWeek);
+    }
+
+    public static int minuteOfWeek(Instant at) {
+        ZonedDateTime time = at.atZone(ZONE);
+        return (time.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+
+    public boolean isOpen(int minuteOfWeek) {
+        return open.get(minuteOfWeek);
+    }
+
+    /**
+     * Minutes from the start of {@code minuteOfWeek} until the item opens or
+     * closes, or {@link Integer#MAX_VALUE} when it never does.
+     */
+    public int minutesUntilChange(int minuteOfWeek) {
+        boolean current = open.get(minuteOfWeek);
+        int next = current ? open.nextClearBit(minuteOfWeek) : open.nextSetBit(minuteOfWeek);
+        if (next >= 0 && next < MINUTES_PER_WEEK) {
+            return next - minuteOfWeek;
+        }
+        int wrapped = current ? open.nextClearBit(0) : open.nextSetBit(0);
+        if (wrapped < 0 || wrapped >= minuteOfWeek) {
+            return Integer.MAX_VALUE; // the same all week
+        }
+        return MINUTES_PER_WEEK - minuteOfWeek + wrapped;
+    }
+
+    int weight() {
+        return MINUTES_PER_WEEK / 8 + 32;
+    }
+
+    private static int minuteOfDay(String time) {
+        try {
+            return LocalTime.parse(time).toSecondOfDay() / 60;
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("availability window times must be HH:mm, got '" + time + "'");
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.example.service;
+
+import com.example.model.Menu;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sorted menus per (merchantId, includeUnavailable), LRU-evicted once the
+ * estimated weight of all entries exceeds {@code menu.cache.max-weight-bytes}.
+ *
+ * Every merchant has a version that is bumped on every write (and again once
+ * the write's transaction commits). Entries
+ * remember the version they were loaded under and are ignored once it moves,
+ * so a load racing with a write can never put a stale menu back.
+ *
+ * Versions are per instance. Writes made on other instances arrive as
+ * menu.item.changed events (see {@code MenuItemChangedListener}), and every
+ * entry also expires {@code menu.cache.ttl-ms} after it was loaded, which
+ * bounds staleness from changes that publish no event or whose event is lost.
+ *
+ * Each entry also keeps the menu pre-rendered as JSON (and gzip, for menus
+ * above {@code menu.cache.gzip-min-bytes}) so hits skip Jackson entirely.
+ * The full-menu entry additionally carries a {@link MenuItemIndex} for
+ * price quotes.
+ *
+ * The available-only entry also leaves out items whose
+ * {@link AvailabilitySchedule} is closed. It is valid until the next minute
+ * at which any of its items opens or closes; after that it is re-filtered
+ * and re-rendered from the rows it already holds, without a query.
+ */
+@Component
+public class MenuCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+    private static final int ITEM_OVERHEAD_BYTES = 96;
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private final Cache<Key, Entry> cache;
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Counter staleReads;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+    private final Clock clock;
+
+    @Autowired
+    public MenuCache(MeterRegistry meterRegistry,
+                     ObjectMapper objectMapper,
+                     @Value("${menu.cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                     @Value("${menu.cache.gzip-min-bytes:1024}") int gzipMinBytes,
+                     @Value("${menu.cache.ttl-ms:300000}") long ttlMillis) {
+        this(meterRegistry, objectMapper, maxWeightBytes, gzipMinBytes, ttlMillis, Clock.systemUTC());
+    }
+
+    /** Without expiry; entries only leave on invalidation or eviction. */
+    public MenuCache(MeterRegistry meterRegistry, ObjectMapper objectMapper, long maxWeightBytes, int gzipMinBytes) {
+        this(meterRegistry, objectMapper, maxWeightBytes, gzipMinBytes, 0L, Clock.systemUTC());
+    }
+
+    MenuCache(MeterRegistry meterRegistry, ObjectMapper objectMapper, long maxWeightBytes, int gzipMinBytes,
+              Clock clock) {
+        this(meterRegistry, objectMapper, maxWeightBytes, gzipMinBytes, 0L, clock);
+    }
+
+    MenuCache(MeterRegistry meterRegistry, ObjectMapper objectMapper, long maxWeightBytes, int gzipMinBytes,
+              long ttlMillis, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+        this.clock = clock;
+        Caffeine<Key, Entry> builder = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Key key, Entry entry) -> entry.weight())
+                .ticker(() -> clock.millis() * 1_000_000L)
+                .recordStats();
+        if (ttlMillis > 0) {
+            builder.expireAfterWrite(Duration.ofMillis(ttlMillis));
+        }
+        this.cache = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "menu");
+        this.staleReads = Counter.builder("menu.cache.stale")
+                .description("Cached menus discarded because the merchant changed after they were loaded")
+                .register(meterRegistry);
+    }
+
+    public List<Menu> get(Long merchantId, boolean includeUnavailable, Supplier<List<Menu>> loader) {
+        return entry(merchantId, includeUnavailable, loader).items();
+    }
+
+    public RenderedMenu getRendered(Long merchantId, boolean includeUnavailable, Supplier<List<Menu>> loader) {
+        return entry(merchantId, includeUnavailable, loader).rendered();
+    }
+
+    /** Id lookup over the merchant's full menu (unavailable items included). */
+    public MenuItemIndex getItemIndex(Long merchantId, Supplier<List<Menu>> fullMenuLoader) {
+        return entry(merchantId, true, fullMenuLoader).index();
+    }
+
+    private Entry entry(Long merchantId, boolean includeUnavailable, Supplier<List<Menu>> loader) {
+        Key key = new Key(merchantId, includeUnavailable);
+        long version = version(merchantId);
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            return current(key, entry);
+        }
+        if (entry != null) {
+            staleReads.increment();
+        }
+
+        // Version is read before the load, so a write landing mid-load leaves
+        // this entry behind the merchant's version and it is never served.
+        return load(key, version, loader.get());
+    }
+
+    /**
+     * Rendered menus for several merchants, in the order given. Hits come from
+     * the cache; all misses are handed to {@code loader} together, so they cost
+     * one query however many there are. The loader returns the items of every
+     * merchant it was given, each merchant's items already sorted.
+     */
+    public Map<Long, RenderedMenu> getRenderedAll(Collection<Long> merchantIds, boolean includeUnavailable,
+                                                  Function<List<Long>, List<Menu>> loader) {
+        Map<Long, RenderedMenu> result = new LinkedHashMap<>();
+        Map<Long, Long> missVersions = new LinkedHashMap<>();
+        for (Long merchantId : merchantIds) {
+            long version = version(merchantId);
+            Key key = new Key(merchantId, includeUnavailable);
+            Entry entry = cache.getIfPresent(key);
+            if (entry != null && entry.version() == version) {
+                result.put(merchantId, current(key, entry).rendered());
+            } else {
+                if (entry != null) {
+                    staleReads.increment();
+                }
+                result.put(merchantId, null); // keeps the requested order
+                missVersions.put(merchantId, version);
+            }
+        }
+        if (missVersions.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, List<Menu>> loaded = loader.apply(new ArrayList<>(missVersions.keySet())).stream()
+                .collect(Collectors.groupingBy(Menu::getMerchantId));
+        missVersions.forEach((merchantId, version) -> {
+            List<Menu> items = loaded.getOrDefault(merchantId, List.of());
+            result.put(merchantId, load(new Key(merchantId, includeUnavailable), version, items).rendered());
+        });
+        return result;
+    }
+
+    private Entry load(Key key, long version, List<Menu> loadedItems) {
+        List<Menu> items = List.copyOf(loadedItems);
+        if (!key.includeUnavailable()) {
+            AvailabilitySchedule[] schedules = AvailabilitySchedule.compile(items);
+            if (schedules != null) {
+                return filter(key, version, new Scheduled(items, schedules));
+            }
+        }
+        return store(key, version, items, null, Long.MAX_VALUE);
+    }
+
+    /** The entry itself while its schedule window lasts, otherwise a re-filtered copy. */
+    private Entry current(Key key, Entry entry) {
+        if (clock.millis() < entry.validUntil()) {
+            return entry;
+        }
+        return filter(key, entry.version(), entry.scheduled());
+    }
+
+    private Entry filter(Key key, long version, Scheduled scheduled) {
+        long now = clock.millis();
+        int minute = AvailabilitySchedule.minuteOfWeek(Instant.ofEpochMilli(now));
+        List<Menu> open = new ArrayList<>(scheduled.items().size());
+        int untilChange = Integer.MAX_VALUE;
+        for (int i = 0; i < scheduled.items().size(); i++) {
+            AvailabilitySchedule schedule = scheduled.schedules()[i];
+            if (schedule == null) {
+                open.add(scheduled.items().get(i));
+                continue;
+            }
+            if (schedule.isOpen(minute)) {
+                open.add(scheduled.items().get(i));
+            }
+            untilChange = Math.min(untilChange, schedule.minutesUntilChange(minute));
+        }
+        // Asia/Singapore is a whole-hour offset, so its minutes start on epoch minutes
+        long validUntil = untilChange == Integer.MAX_VALUE
+                ? Long.MAX_VALUE
+                : now - now % MINUTE_MILLIS + untilChange * MINUTE_MILLIS;
+        return store(key, version, open, scheduled, validUntil);
+    }
+
+    private Entry store(Key key, long version, List<Menu> items, Scheduled scheduled, long validUntil) {
+        RenderedMenu rendered = render(items);
+        MenuItemIndex index = key.includeUnavailable() ? MenuItemIndex.of(items) : null;
+        int weight = (scheduled == null ? weigh(items) : weigh(scheduled.items()) + scheduled.weight())
+                + rendered.weight() + (index == null ? 0 : index.weight());
+        Entry entry = new Entry(version, items, rendered, index, weight, scheduled, validUntil);
+        cache.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Drops both variants of a merchant's menu. Inside a transaction the drop
+     * is repeated after commit, so a reader that reloaded the pre-commit rows
+     * in the meantime does not keep them.
+     */
+    public void invalidate(Long merchantId) {
+        evict(merchantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(merchantId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+        cache.invalidateAll();
+    }
+
+    public long version(Long merchantId) {
+        AtomicLong version = versions.get(merchantId);
+        return version == null ? 0L : version.get();
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private void evict(Long merchantId) {
+        versions.computeIfAbsent(merchantId, id -> new AtomicLong()).incrementAndGet();
+        cache.invalidate(new Key(merchantId, false));
+        cache.invalidate(new Key(merchantId, true));
+    }
+
+    private RenderedMenu render(List<Menu> items) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menu", e);
+        }
+        String digest = digest(json);
+        if (json.length < gzipMinBytes) {
+            return new RenderedMenu(items.size(), json, "\"" + digest + "\"", null, null);
+        }
+        return new RenderedMenu(items.size(), json, "\"" + digest + "\"", gzip(json), "\"" + digest + "-gz\"");
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int weigh(List<Menu> items) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        for (Menu item : items) {
+            bytes += ITEM_OVERHEAD_BYTES
+                    + chars(item.getName())
+                    + chars(item.getDescription())
+                    + chars(item.getImageUrl())
+                    + chars(item.getType())
+                    + chars(item.getAvailabilityStatus());
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+
+    private record Key(Long merchantId, boolean includeUnavailable) {
+    }
+
+    /**
+     * @param scheduled   the rows the available-only entry is filtered from,
+     *                    when any of them has a schedule
+     * @param validUntil  epoch millis at which the filter has to be re-run
+     */
+    private record Entry(long version, List<Menu> items, RenderedMenu rendered, MenuItemIndex index, int weight,
+                         Scheduled scheduled, long validUntil) {
+    }
+
+    /** Loaded rows with their schedules, parallel (null where an item has none). */
+    private record Scheduled(List<Menu> items, AvailabilitySchedule[] schedules) {
+
+        int weight() {
+            Set<AvailabilitySchedule> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            int bytes = schedules.length * 8;
+            for (AvailabilitySchedule schedule : schedules) {
+                if (schedule != null && distinct.add(schedule)) {
+                    bytes += schedule.weight();
+                }
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.service;
+
+import com.example.model.Menu;
+import com.example.model.MenuContentHash;
+import com.example.repository.MenuRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills content_hash for rows written before the column existed. Rows that
+ * turn out to duplicate another item of the same merchant keep a null hash
+ * (the unique index allows that) and are logged for manual cleanup. Updates
+ * that leave their hashed fields alone keep the hash null (see
+ * {@link Menu#updateContentHash()}).
+ */
+@Component
+public class MenuContentHashBackfill {
+
+    private final MenuRepository menuRepository;
+
+    public MenuContentHashBackfill(MenuRepository menuRepository) {
+        this.menuRepository = menuRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Menu> missing = menuRepository.findByContentHashIsNull();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        int updated = 0;
+        for (Menu item : missing) {
+            item.setContentHash(MenuContentHash.of(item));
+            try {
+                menuRepository.save(item);
+                updated++;
+            } catch (DataIntegrityViolationException e) {
+                System.out.println("Menu item " + item.getMenuItemId() + " of merchant " + item.getMerchantId()
+                        + " duplicates another item; content_hash left empty");
+            }
+        }
+        System.out.println("Backfilled content_hash for " + updated + " of " + missing.size() + " menu items");
+    }
+}
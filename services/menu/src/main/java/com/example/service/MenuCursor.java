@@ -0,0 +1,36 @@
+package com.example.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last item of a menu page, in (type, name, menuItemId)
+ * order. Sent to clients as an opaque base64url string.
+ */
+public record MenuCursor(String type, String name, long menuItemId) {
+
+    private static final char SEPARATOR = '\u0000'; // cannot occur in Postgres text
+
+    public String encode() {
+        String raw = type + SEPARATOR + name + SEPARATOR + menuItemId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MenuCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last) {
+                throw new IllegalArgumentException();
+            }
+            return new MenuCursor(raw.substring(0, first), raw.substring(first + 1, last),
+                    Long.parseLong(raw.substring(last + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
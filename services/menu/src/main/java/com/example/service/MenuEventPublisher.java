@@ -0,0 +1,152 @@
+package com.example.service;
+
+import com.example.config.RabbitMQConfig;
+import com.example.dto.MenuItemChangedEvent;
+import com.example.dto.MenuItemChangedEvent.ItemChange;
+import com.example.model.MenuOutboxEvent;
+import com.example.repository.MenuOutboxRepository;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains menu_outbox into menu.item.changed messages on smunch.events.
+ *
+ * Each claimed batch is coalesced per merchant: one message per merchant,
+ * carrying only the latest revision of every item that changed. Rows are
+ * marked published in the same transaction that claimed them, and only once
+ * the broker has confirmed every message of the batch, so a failed or
+ * unconfirmed publish leaves them for the next run (delivery is
+ * at-least-once). Requires spring.rabbitmq.publisher-confirm-type=correlated.
+ *
+ * The message id is derived from the outbox row ids a message covers, so a
+ * retry of the same rows carries the same id and consumers can drop it.
+ */
+@Component
+@ConditionalOnProperty(name = "menu.events.publisher-enabled", havingValue = "true", matchIfMissing = true)
+public class MenuEventPublisher {
+
+    private static final ZoneId SG = ZoneId.of("Asia/Singapore");
+
+    private final MenuOutboxRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int retentionDays;
+    private final long confirmTimeoutMs;
+
+    public MenuEventPublisher(MenuOutboxRepository outboxRepository,
+                              RabbitTemplate rabbitTemplate,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${menu.events.batch-size:200}") int batchSize,
+                              @Value("${menu.events.retention-days:7}") int retentionDays,
+                              @Value("${menu.events.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${menu.events.publish-interval-ms:1000}")
+    public void publishPending() {
+        try {
+            Integer claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> publishBatch());
+            } while (claimed != null && claimed == batchSize);
+        } catch (AmqpException e) {
+            System.out.println("menu.item.changed publish failed, will retry: " + e.getMessage());
+        }
+    }
+
+    int publishBatch() {
+        List<MenuOutboxEvent> events = outboxRepository.claimUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Map<Long, MenuOutboxEvent>> latestByMerchant = new LinkedHashMap<>();
+        Map<Long, List<Long>> idsByMerchant = new HashMap<>();
+        for (MenuOutboxEvent event : events) {
+            latestByMerchant
+                    .computeIfAbsent(event.getMerchantId(), id -> new LinkedHashMap<>())
+                    .merge(event.getMenuItemId(), event,
+                            (current, next) -> next.getRevision() >= current.getRevision() ? next : current);
+            idsByMerchant.computeIfAbsent(event.getMerchantId(), id -> new ArrayList<>()).add(event.getId());
+        }
+
+        String sentAt = OffsetDateTime.now(SG).toString();
+        List<CorrelationData> sent = new ArrayList<>(latestByMerchant.size());
+        latestByMerchant.forEach((merchantId, latest) -> {
+            List<ItemChange> items = new ArrayList<>(latest.size());
+            for (MenuOutboxEvent event : latest.values()) {
+                items.add(new ItemChange(event.getMenuItemId(), event.getRevision(), event.getChangeType(),
+                        event.getPriceCents(), event.getAvailabilityStatus()));
+            }
+            String messageId = messageId(idsByMerchant.get(merchantId));
+            CorrelationData correlation = new CorrelationData(messageId);
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EVENTS_EXCHANGE, RabbitMQConfig.MENU_ITEM_CHANGED_KEY,
+                    new MenuItemChangedEvent(merchantId, items), message -> {
+                        message.getMessageProperties().setMessageId(messageId);
+                        message.getMessageProperties().setHeader("sourceService", "menu");
+                        message.getMessageProperties().setHeader("sentAt", sentAt);
+                        return message;
+                    }, correlation);
+            sent.add(correlation);
+        });
+        awaitConfirms(sent);
+
+        List<Long> ids = events.stream().map(MenuOutboxEvent::getId).toList();
+        outboxRepository.markPublished(ids, LocalDateTime.now());
+        return events.size();
+    }
+
+    // Waits for the broker to ack every message; any nack or timeout rolls the claim back
+    private void awaitConfirms(List<CorrelationData> sent) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (CorrelationData correlation : sent) {
+            CorrelationData.Confirm confirm;
+            try {
+                confirm = correlation.getFuture().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw new AmqpException("No publisher confirm for message " + correlation.getId()
+                        + " within " + confirmTimeoutMs + " ms");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmqpException("Interrupted waiting for publisher confirms", e);
+            } catch (ExecutionException e) {
+                throw new AmqpException("Publisher confirm failed for message " + correlation.getId(), e.getCause());
+            }
+            if (!confirm.isAck()) {
+                throw new AmqpException("Broker rejected message " + correlation.getId() + ": " + confirm.getReason());
+            }
+        }
+    }
+
+    static String messageId(List<Long> outboxIds) {
+        return UUID.nameUUIDFromBytes(("menu_outbox:" + outboxIds).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "Asia/Singapore")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(cutoff));
+        System.out.println("Purged " + deleted + " published menu outbox rows");
+    }
+}
@@ -0,0 +1,391 @@
+package com.example.service;
+
+import com.example.dto.MenuImportResult;
+import com.example.model.AvailabilityWindow;
+import com.example.model.Menu;
+import com.example.model.MenuContentHash;
+import com.example.repository.MenuRepository;
+import com.example.util.CsvReader;
+import com.example.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bulk menu import/export. Imports are read one record at a time, checked
+ * against the merchant's existing content hashes in memory and inserted one
+ * chunk per statement and transaction, so memory stays flat and a bad row
+ * late in a large file does not roll back what was already loaded.
+ */
+@Service
+public class MenuImportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    // availabilitySchedule holds the windows as a JSON array, as in the API
+    static final String[] CSV_COLUMNS = {"name", "description", "priceCents", "imageUrl", "type", "availabilityStatus",
+            "availabilitySchedule"};
+    private static final TypeReference<List<AvailabilityWindow>> SCHEDULE_TYPE = new TypeReference<>() {
+    };
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    // One statement per chunk; only the rows it actually inserted come back, so a row
+    // a concurrent create got in first is neither counted nor given events or prices
+    private static final String INSERT_SQL = """
+        INSERT INTO menu_items (merchant_id, name, description, price_cents, image_url, type, availability_status,
+                                content_hash, availability_schedule, revision, price_version)
+        SELECT ?, name, description, price_cents, image_url, type, availability_status,
+               content_hash, availability_schedule::jsonb, 0, 1
+        FROM unnest(?::varchar[], ?::varchar[], ?::int[], ?::text[], ?::varchar[], ?::varchar[], ?::varchar[], ?::text[])
+            AS chunk (name, description, price_cents, image_url, type, availability_status, content_hash, availability_schedule)
+        ON CONFLICT (merchant_id, content_hash) DO NOTHING
+        RETURNING menu_item_id
+        """;
+
+    // Outbox rows for the items the chunk inserted, in the same transaction
+    private static final String OUTBOX_SQL = """
+        INSERT INTO menu_outbox (merchant_id, menu_item_id, revision, change_type, price_cents, availability_status, created_at)
+        SELECT merchant_id, menu_item_id, revision, 'CREATED', price_cents, availability_status, now()
+        FROM menu_items
+        WHERE menu_item_id = ANY (?)
+        """;
+
+    // First price version of each item the chunk inserted
+    private static final String PRICE_SQL = """
+        INSERT INTO menu_item_prices (menu_item_id, merchant_id, version, price_cents, created_at)
+        SELECT menu_item_id, merchant_id, price_version, price_cents, now()
+        FROM menu_items
+        WHERE menu_item_id = ANY (?)
+        ON CONFLICT (menu_item_id, version) DO NOTHING
+        """;
+
+    private static final String EXPORT_SQL = """
+        SELECT menu_item_id, name, description, price_cents, image_url, type, availability_status, availability_schedule
+        FROM menu_items
+        WHERE merchant_id = ?
+        ORDER BY type, name, menu_item_id
+        """;
+
+    private final MenuRepository menuRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MenuCache menuCache;
+    private final MenuSearchIndex menuSearchIndex;
+    private final MenuMediaService menuMediaService;
+    private final int chunkSize;
+
+    public MenuImportService(MenuRepository menuRepository,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             MenuCache menuCache,
+                             MenuSearchIndex menuSearchIndex,
+                             MenuMediaService menuMediaService,
+                             @Value("${menu.import.chunk-size:500}") int chunkSize) {
+        this.menuRepository = menuRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.menuCache = menuCache;
+        this.menuSearchIndex = menuSearchIndex;
+        this.menuMediaService = menuMediaService;
+        this.chunkSize = chunkSize;
+    }
+
+    public MenuImportResult importItems(Long merchantId, String format, InputStream input) throws IOException {
+        Set<String> signatures = new HashSet<>(menuRepository.findContentHashesByMerchantId(merchantId));
+
+        ImportBatch batch = new ImportBatch(merchantId, signatures);
+        try {
+            if (FORMAT_CSV.equals(format)) {
+                readCsv(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), batch);
+            } else if (FORMAT_NDJSON.equals(format)) {
+                readNdjson(input, batch);
+            } else {
+                throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                        "Import accepts text/csv or application/x-ndjson");
+            }
+        } finally {
+            // Whatever was committed must become visible even if the stream failed part way
+            batch.flush();
+            if (batch.result.getInserted() > 0) {
+                menuCache.invalidate(merchantId);
+                menuSearchIndex.upsertAll(menuRepository.findByMerchantId(merchantId, true));
+            }
+        }
+        return batch.result;
+    }
+
+    public void exportItems(Long merchantId, String format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (FORMAT_CSV.equals(format)) {
+            CsvWriter csv = new CsvWriter(writer);
+            csv.writeRecord((Object[]) CSV_COLUMNS);
+            streamRows(merchantId, item -> csv.writeRecord(item.getName(), item.getDescription(),
+                    item.getPriceCents(), item.getImageUrl(), item.getType(), item.getAvailabilityStatus(),
+                    item.getAvailabilitySchedule() == null
+                            ? null : objectMapper.writeValueAsString(item.getAvailabilitySchedule())));
+        } else {
+            SequenceWriter json = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+            streamRows(merchantId, json::write);
+            json.flush();
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void streamRows(Long merchantId, RowWriter rowWriter) {
+        // Postgres only honours the fetch size inside a transaction
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(EXPORT_SQL);
+            ps.setFetchSize(chunkSize);
+            ps.setLong(1, merchantId);
+            return ps;
+        }, rs -> {
+            Menu item = Menu.builder()
+                    .menuItemId(rs.getLong("menu_item_id"))
+                    .merchantId(merchantId)
+                    .name(rs.getString("name"))
+                    .description(rs.getString("description"))
+                    .priceCents(rs.getInt("price_cents"))
+                    .imageUrl(rs.getString("image_url"))
+                    .type(rs.getString("type"))
+                    .availabilityStatus(rs.getString("availability_status"))
+                    .build();
+            String schedule = rs.getString("availability_schedule");
+            try {
+                if (schedule != null) {
+                    item.setAvailabilitySchedule(objectMapper.readValue(schedule, SCHEDULE_TYPE));
+                }
+                rowWriter.write(item);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private void readCsv(BufferedReader reader, ImportBatch batch) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("priceCents") || !columns.containsKey("type")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CSV header must include name, priceCents and type");
+        }
+
+        while (true) {
+            long line = csv.getLineNumber();
+            List<String> record = csv.readRecord();
+            if (record == null) {
+                break;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            batch.received();
+            Menu item = new Menu();
+            item.setName(column(record, columns, "name"));
+            item.setDescription(column(record, columns, "description"));
+            item.setImageUrl(column(record, columns, "imageUrl"));
+            item.setType(column(record, columns, "type"));
+            item.setAvailabilityStatus(column(record, columns, "availabilityStatus"));
+            String schedule = column(record, columns, "availabilitySchedule");
+            try {
+                item.setAvailabilitySchedule(schedule == null ? null : objectMapper.readValue(schedule, SCHEDULE_TYPE));
+            } catch (JsonProcessingException e) {
+                batch.reject(line, "availabilitySchedule is not a JSON array of windows: " + e.getOriginalMessage());
+                continue;
+            }
+            String price = column(record, columns, "priceCents");
+            try {
+                item.setPriceCents(price == null ? null : Integer.valueOf(price.trim()));
+            } catch (NumberFormatException e) {
+                batch.reject(line, "priceCents is not a whole number of cents: " + price);
+                continue;
+            }
+            batch.add(line, item);
+        }
+    }
+
+    private void readNdjson(InputStream input, ImportBatch batch) throws IOException {
+        try (MappingIterator<Menu> items = objectMapper.readerFor(Menu.class).readValues(input)) {
+            long line = 0;
+            while (true) {
+                line++;
+                Menu item;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    batch.received();
+                    item = items.nextValue();
+                } catch (JsonProcessingException e) {
+                    // The parser cannot resync after malformed JSON, so stop here
+                    batch.reject(line, "malformed JSON, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+                batch.add(line, item);
+            }
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /** Inserts the chunk and returns the ids of the rows actually inserted. */
+    private List<Long> insertChunk(Long merchantId, List<Menu> chunk) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(INSERT_SQL);
+                ps.setLong(1, merchantId);
+                ps.setArray(2, con.createArrayOf("varchar", values(chunk, Menu::getName)));
+                ps.setArray(3, con.createArrayOf("varchar", values(chunk, Menu::getDescription)));
+                ps.setArray(4, con.createArrayOf("int4", values(chunk, Menu::getPriceCents)));
+                ps.setArray(5, con.createArrayOf("text", values(chunk, Menu::getImageUrl)));
+                ps.setArray(6, con.createArrayOf("varchar", values(chunk, Menu::getType)));
+                ps.setArray(7, con.createArrayOf("varchar", values(chunk, Menu::getAvailabilityStatus)));
+                ps.setArray(8, con.createArrayOf("varchar", values(chunk, Menu::getContentHash)));
+                ps.setArray(9, con.createArrayOf("text", values(chunk, this::scheduleJson)));
+                return ps;
+            }, (rs, rowNum) -> rs.getLong(1));
+            if (ids.isEmpty()) {
+                return ids;
+            }
+            Long[] inserted = ids.toArray(Long[]::new);
+            for (String sql : new String[]{OUTBOX_SQL, PRICE_SQL}) {
+                jdbcTemplate.update(con -> {
+                    PreparedStatement ps = con.prepareStatement(sql);
+                    ps.setArray(1, con.createArrayOf("bigint", inserted));
+                    return ps;
+                });
+            }
+            return ids;
+        });
+    }
+
+    private String scheduleJson(Menu item) {
+        try {
+            return item.getAvailabilitySchedule() == null
+                    ? null : objectMapper.writeValueAsString(item.getAvailabilitySchedule());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Object[] values(List<Menu> chunk, Function<Menu, ?> field) {
+        Object[] values = new Object[chunk.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = field.apply(chunk.get(i));
+        }
+        return values;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Menu item) throws IOException;
+    }
+
+    private final class ImportBatch {
+        private final Long merchantId;
+        private final Set<String> signatures;
+        private final List<Menu> pending = new ArrayList<>(chunkSize);
+        private final MenuImportResult result = new MenuImportResult();
+
+        ImportBatch(Long merchantId, Set<String> signatures) {
+            this.merchantId = merchantId;
+            this.signatures = signatures;
+        }
+
+        void received() {
+            result.setReceived(result.getReceived() + 1);
+        }
+
+        void add(long line, Menu item) {
+            if (item.getAvailabilityStatus() == null) {
+                item.setAvailabilityStatus("available");
+            }
+            String problem = validate(item);
+            if (problem != null) {
+                reject(line, problem);
+                return;
+            }
+            try {
+                item.setAvailabilitySchedule(MenuService.validSchedule(item.getAvailabilitySchedule()));
+                item.setImageUrl(menuMediaService.externalize(item.getImageUrl()));
+            } catch (ResponseStatusException e) {
+                reject(line, e.getReason());
+                return;
+            }
+            item.setMerchantId(merchantId);
+            item.setContentHash(MenuContentHash.of(item));
+            if (!signatures.add(item.getContentHash())) {
+                result.setDuplicates(result.getDuplicates() + 1);
+                return;
+            }
+            pending.add(item);
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            result.setRejected(result.getRejected() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add("line " + line + ": " + message);
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            int inserted = insertChunk(merchantId, pending).size();
+            result.setInserted(result.getInserted() + inserted);
+            // Rows a concurrent create inserted first
+            result.setDuplicates(result.getDuplicates() + pending.size() - inserted);
+            pending.clear();
+        }
+
+        private String validate(Menu item) {
+            if (item.getName() == null || item.getName().isBlank()) return "name is required";
+            if (item.getName().length() > 255) return "name is longer than 255 characters";
+            if (item.getPriceCents() == null || item.getPriceCents() < 0) return "priceCents must be zero or more";
+            if (item.getType() == null || item.getType().isBlank()) return "type is required";
+            if (!MenuService.AVAILABILITY_STATUSES.contains(item.getAvailabilityStatus())) {
+                return "availabilityStatus must be one of " + MenuService.AVAILABILITY_STATUSES;
+            }
+            if (item.getDescription() != null && item.getDescription().length() > 1000) {
+                return "description is longer than 1000 characters";
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.service;
+
+import com.example.model.Menu;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable menuItemId -> (name, priceCents, priceVersion, available) lookup for one
+ * merchant. Ids are kept in a sorted long[] with parallel arrays, so a lookup
+ * is a binary search with no boxing or hashing. Availability combines the
+ * item's status with its {@link AvailabilitySchedule}, if it has one.
+ */
+public final class MenuItemIndex {
+
+    private final long[] ids;
+    private final String[] names;
+    private final int[] prices;
+    private final int[] priceVersions;
+    private final boolean[] available;
+    private final AvailabilitySchedule[] schedules; // null when no item is scheduled
+
+    private MenuItemIndex(long[] ids, String[] names, int[] prices, int[] priceVersions, boolean[] available,
+                          AvailabilitySchedule[] schedules) {
+        this.ids = ids;
+        this.names = names;
+        this.prices = prices;
+        this.priceVersions = priceVersions;
+        this.available = available;
+        this.schedules = schedules;
+    }
+
+    public static MenuItemIndex of(List<Menu> items) {
+        Menu[] sorted = items.toArray(new Menu[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(Menu::getMenuItemId));
+
+        int n = sorted.length;
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        int[] prices = new int[n];
+        int[] priceVersions = new int[n];
+        boolean[] available = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Menu item = sorted[i];
+            ids[i] = item.getMenuItemId();
+            names[i] = item.getName();
+            prices[i] = item.getPriceCents();
+            priceVersions[i] = item.getPriceVersion();
+            available[i] = "available".equals(item.getAvailabilityStatus());
+        }
+        return new MenuItemIndex(ids, names, prices, priceVersions, available,
+                AvailabilitySchedule.compile(Arrays.asList(sorted)));
+    }
+
+    /** Position of the item, or a negative number when the merchant has no such item. */
+    public int indexOf(long menuItemId) {
+        return Arrays.binarySearch(ids, menuItemId);
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    public String nameAt(int index) {
+        return names[index];
+    }
+
+    public int priceCentsAt(int index) {
+        return prices[index];
+    }
+
+    public int priceVersionAt(int index) {
+        return priceVersions[index];
+    }
+
+    /** Available at the given minute of the week (see {@link AvailabilitySchedule#minuteOfWeek}). */
+    public boolean availableAt(int index, int minuteOfWeek) {
+        return available[index]
+                && (schedules == null || schedules[index] == null || schedules[index].isOpen(minuteOfWeek));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    int weight() {
+        int bytes = ids.length * 28 + 64;
+        if (schedules != null) {
+            bytes += schedules.length * 8;
+            Set<AvailabilitySchedule> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (AvailabilitySchedule schedule : schedules) {
+                if (schedule != null && distinct.add(schedule)) {
+                    bytes += schedule.weight();
+                }
+            }
+        }
+        return bytes;
+    }
+}
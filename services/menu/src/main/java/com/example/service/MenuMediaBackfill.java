@@ -0,0 +1,55 @@
+package com.example.service;
+
+import com.example.model.Menu;
+import com.example.repository.MenuRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves data-URI images written before menu_media existed, and gives media
+ * paths stored without a host the configured public base URL. Items that
+ * cannot be rewritten (unsupported type, too large, changed concurrently)
+ * are left as they are and logged; one failing item never stops the rest,
+ * or application startup.
+ */
+@Component
+public class MenuMediaBackfill {
+
+    private final MenuRepository menuRepository;
+    private final MenuMediaService menuMediaService;
+    private final MenuCache menuCache;
+
+    public MenuMediaBackfill(MenuRepository menuRepository, MenuMediaService menuMediaService, MenuCache menuCache) {
+        this.menuRepository = menuRepository;
+        this.menuMediaService = menuMediaService;
+        this.menuCache = menuCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Menu> items = new ArrayList<>(menuRepository.findByImageUrlStartingWith("data:"));
+        menuRepository.findByImageUrlStartingWith(MenuMediaService.MEDIA_PATH).stream()
+                .filter(item -> menuMediaService.isBareMediaPath(item.getImageUrl()))
+                .forEach(items::add);
+        if (items.isEmpty()) {
+            return;
+        }
+
+        int moved = 0;
+        for (Menu item : items) {
+            try {
+                item.setImageUrl(menuMediaService.externalize(item.getImageUrl()));
+                menuRepository.save(item);
+                menuCache.invalidate(item.getMerchantId());
+                moved++;
+            } catch (RuntimeException e) {
+                System.out.println("Menu item " + item.getMenuItemId() + " keeps its image URL: " + e.getMessage());
+            }
+        }
+        System.out.println("Rewrote " + moved + " of " + items.size() + " menu image URLs");
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.service;
+
+import com.example.exception.NotFoundException;
+import com.example.model.MenuMedia;
+import com.example.repository.MenuMediaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Moves data-URI images out of menu_items. The bytes go to menu_media under
+ * their SHA-256, and the item keeps only a short media URL, so menu rows,
+ * cache entries and responses no longer carry the image.
+ *
+ * The URL is {@code menu.media.public-base-url} (the gateway, which routes
+ * /api/menu/media to this service) followed by the media path, because
+ * clients render imageUrl as-is from their own origin.
+ */
+@Service
+public class MenuMediaService {
+
+    public static final String MEDIA_PATH = "/api/menu/media/";
+
+    // SVG is left out on purpose: it can carry script and would be served from our origin
+    static final Set<String> CONTENT_TYPES = Set.of("image/png", "image/jpeg", "image/gif", "image/webp", "image/avif");
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final MenuMediaRepository menuMediaRepository;
+    private final int maxBytes;
+    private final String publicBaseUrl;
+
+    public MenuMediaService(MenuMediaRepository menuMediaRepository,
+                            @Value("${menu.media.max-bytes:1048576}") int maxBytes,
+                            @Value("${menu.media.public-base-url:}") String publicBaseUrl) {
+        this.menuMediaRepository = menuMediaRepository;
+        this.maxBytes = maxBytes;
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                : publicBaseUrl;
+    }
+
+    /**
+     * Returns {@code imageUrl} unchanged unless it is a data URI, in which case
+     * the image is stored and its media URL returned instead. A bare media path
+     * (as stored before the public base URL was configured) gets the base URL.
+     */
+    @Transactional
+    public String externalize(String imageUrl) {
+        if (isBareMediaPath(imageUrl)) {
+            return publicBaseUrl + imageUrl;
+        }
+        if (imageUrl == null || !imageUrl.regionMatches(true, 0, "data:", 0, 5)) {
+            return imageUrl;
+        }
+
+        int comma = imageUrl.indexOf(',');
+        String header = comma < 0 ? "" : imageUrl.substring(5, comma).toLowerCase(Locale.ROOT);
+        if (!header.endsWith(";base64")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "imageUrl data URIs must be base64-encoded");
+        }
+        String contentType = header.substring(0, header.length() - ";base64".length());
+        if (!CONTENT_TYPES.contains(contentType)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "imageUrl data URIs must be one of " + new TreeSet<>(CONTENT_TYPES));
+        }
+
+        byte[] data;
+        try {
+            data = Base64.getMimeDecoder().decode(imageUrl.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "imageUrl data URI is not valid base64");
+        }
+        if (data.length == 0 || data.length > maxBytes) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "imageUrl images must be between 1 and " + maxBytes + " bytes");
+        }
+
+        String hash = sha256(data);
+        menuMediaRepository.insertIfAbsent(hash, contentType, data, LocalDateTime.now());
+        return publicBaseUrl + MEDIA_PATH + hash;
+    }
+
+    /** True for a relative media path that the configured public base URL would make absolute. */
+    public boolean isBareMediaPath(String imageUrl) {
+        return !publicBaseUrl.isEmpty() && imageUrl != null && imageUrl.startsWith(MEDIA_PATH);
+    }
+
+    public MenuMedia get(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new NotFoundException("Media", "hash", String.valueOf(hash));
+        }
+        return menuMediaRepository.findById(hash)
+                .orElseThrow(() -> new NotFoundException("Media", "hash", hash));
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.service;
+
+import com.example.model.Menu;
+import com.example.model.MenuItemPopularity;
+import com.example.repository.MenuItemPopularityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Units ordered per menu item over the last hour and today (Asia/Singapore),
+ * fed by order.created and kept entirely in memory so sorting by popularity
+ * costs no query.
+ *
+ * Each item has a ring of one-minute buckets and a day bucket, spread over a
+ * few stripes so concurrent listener threads rarely hit the same slot. A slot
+ * packs its minute (or day) into the high 32 bits and the count into the low
+ * 32, so a CAS both rolls a stale slot over and increments it without locks.
+ *
+ * Day counts are flushed to menu_item_popularity every
+ * {@code menu.popularity.flush-interval-ms} and reloaded on startup; the hour
+ * window starts empty after a restart.
+ */
+@Component
+public class MenuPopularity {
+
+    public enum Window { HOUR, TODAY }
+
+    private static final ZoneId SG = ZoneId.of("Asia/Singapore");
+    private static final int MINUTES = 60;
+    private static final int STRIPES = 4;
+
+    private final ConcurrentHashMap<Long, ItemCounter> counters = new ConcurrentHashMap<>();
+    private final MenuItemPopularityRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+
+    public MenuPopularity(MenuItemPopularityRepository repository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${menu.popularity.retention-days:30}") int retentionDays) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    public static Window window(String value) {
+        if (value == null || value.equalsIgnoreCase("hour")) {
+            return Window.HOUR;
+        }
+        if (value.equalsIgnoreCase("today")) {
+            return Window.TODAY;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "window must be hour or today");
+    }
+
+    public void record(Long merchantId, Long menuItemId, int qty, Instant at) {
+        counters.computeIfAbsent(menuItemId, id -> new ItemCounter(merchantId))
+                .add(epochMinute(at), epochDay(at), qty);
+    }
+
+    public long count(Long menuItemId, Window window, Instant now) {
+        ItemCounter counter = counters.get(menuItemId);
+        if (counter == null) {
+            return 0;
+        }
+        return window == Window.HOUR ? counter.hour(epochMinute(now)) : counter.day(epochDay(now));
+    }
+
+    /**
+     * Most ordered first. The sort is stable, so items with equal counts keep
+     * the menu's usual type/name order.
+     */
+    public List<Menu> sortByPopularity(List<Menu> items, Window window, Instant now) {
+        Map<Long, Long> counts = new HashMap<>(items.size() * 2);
+        for (Menu item : items) {
+            counts.put(item.getMenuItemId(), count(item.getMenuItemId(), window, now));
+        }
+        List<Menu> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing((Menu item) -> counts.get(item.getMenuItemId())).reversed());
+        return sorted;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        load(Instant.now());
+    }
+
+    void load(Instant now) {
+        long day = epochDay(now);
+        List<MenuItemPopularity> rows = repository.findByOrderDate(LocalDate.ofEpochDay(day));
+        for (MenuItemPopularity row : rows) {
+            ItemCounter counter = counters.computeIfAbsent(row.getMenuItemId(), id -> new ItemCounter(row.getMerchantId()));
+            counter.addDay(day, row.getOrderCount());
+            counter.flushed(day, row.getOrderCount());
+        }
+        if (!rows.isEmpty()) {
+            System.out.println("Loaded today's popularity for " + rows.size() + " menu items");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${menu.popularity.flush-interval-ms:60000}")
+    public void flush() {
+        try {
+            int flushed = flush(Instant.now());
+            if (flushed > 0) {
+                System.out.println("Flushed popularity for " + flushed + " menu items");
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Popularity flush failed, will retry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes every day count that moved since the last flush, in one
+     * transaction. Older days are written before newer ones so the final count
+     * of yesterday still lands after midnight. Counts are only marked flushed
+     * once the transaction commits. Items with nothing left to report are
+     * dropped from memory.
+     */
+    int flush(Instant now) {
+        List<PendingCount> pending = new ArrayList<>();
+        counters.forEach((menuItemId, counter) -> counter.days().forEach((day, count) -> {
+            if (!counter.isFlushed(day, count)) {
+                pending.add(new PendingCount(menuItemId, counter, day, count));
+            }
+        }));
+
+        if (!pending.isEmpty()) {
+            LocalDateTime updatedAt = LocalDateTime.now(SG);
+            transactionTemplate.execute(status -> {
+                for (PendingCount p : pending) {
+                    repository.upsert(p.menuItemId(), p.counter().merchantId, LocalDate.ofEpochDay(p.day()),
+                            p.count(), updatedAt);
+                }
+                return null;
+            });
+            pending.forEach(p -> p.counter().flushed(p.day(), p.count()));
+        }
+
+        long minute = epochMinute(now);
+        long today = epochDay(now);
+        // A record racing this removal can be lost; trending counts are approximate anyway.
+        counters.forEach((menuItemId, counter) -> {
+            if (counter.day(today) == 0 && counter.hour(minute) == 0 && counter.isFlushed()) {
+                counters.remove(menuItemId, counter);
+            }
+        });
+        return pending.size();
+    }
+
+    @Scheduled(cron = "0 45 3 * * *", zone = "Asia/Singapore")
+    public void purgeOld() {
+        LocalDate cutoff = LocalDate.now(SG).minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteByOrderDateBefore(cutoff));
+        System.out.println("Purged " + deleted + " menu popularity rows");
+    }
+
+    int trackedItems() {
+        return counters.size();
+    }
+
+    private static long epochMinute(Instant at) {
+        return at.getEpochSecond() / 60;
+    }
+
+    private static long epochDay(Instant at) {
+        return LocalDate.ofInstant(at, SG).toEpochDay();
+    }
+
+    private record PendingCount(Long menuItemId, ItemCounter counter, long day, long count) {
+    }
+
+    private static final class ItemCounter {
+
+        private final Long merchantId;
+        private final AtomicLongArray minutes = new AtomicLongArray(STRIPES * MINUTES);
+        private final AtomicLongArray days = new AtomicLongArray(STRIPES);
+
+        // Only touched by the startup load and the (single) flushing thread
+        private long flushedDay;
+        private long flushedCount;
+
+        ItemCounter(Long merchantId) {
+            this.merchantId = merchantId;
+        }
+
+        void add(long minute, long day, int qty) {
+            int stripe = stripe();
+            bump(minutes, stripe * MINUTES + (int) (minute % MINUTES), minute, qty);
+            bump(days, stripe, day, qty);
+        }
+
+        void addDay(long day, long count) {
+            bump(days, stripe(), day, count);
+        }
+
+        long hour(long nowMinute) {
+            long total = 0;
+            for (int i = 0; i < minutes.length(); i++) {
+                long slot = minutes.get(i);
+                long minute = slot >>> 32;
+                if (minute > nowMinute - MINUTES && minute <= nowMinute) {
+                    total += slot & 0xFFFFFFFFL;
+                }
+            }
+            return total;
+        }
+
+        long day(long day) {
+            return days().getOrDefault(day, 0L);
+        }
+
+        /** Count per day still held by any stripe, oldest first. */
+        Map<Long, Long> days() {
+            Map<Long, Long> byDay = new TreeMap<>();
+            for (int i = 0; i < days.length(); i++) {
+                long slot = days.get(i);
+                if (slot != 0) {
+                    byDay.merge(slot >>> 32, slot & 0xFFFFFFFFL, Long::sum);
+                }
+            }
+            return byDay;
+        }
+
+        boolean isFlushed(long day, long count) {
+            return day < flushedDay || (day == flushedDay && count <= flushedCount);
+        }
+
+        boolean isFlushed() {
+            return days().entrySet().stream().allMatch(day -> isFlushed(day.getKey(), day.getValue()));
+        }
+
+        void flushed(long day, long count) {
+            flushedDay = day;
+            flushedCount = count;
+        }
+
+        /**
+         * Adds to a slot holding the same period, or restarts it when the slot
+         * still holds an older one. A slot already on a newer period is left
+         * alone: the increment belongs to a bucket that no longer exists.
+         */
+        private static void bump(AtomicLongArray slots, int i, long period, long delta) {
+            for (;;) {
+                long current = slots.get(i);
+                long currentPeriod = current >>> 32;
+                long next;
+                if (currentPeriod == period) {
+                    next = current + delta;
+                } else if (currentPeriod < period) {
+                    next = (period << 32) | delta;
+                } else {
+                    return;
+                }
+                if (slots.compareAndSet(i, current, next)) {
+                    return;
+                }
+            }
+        }
+
+        private static int stripe() {
+            return (int) Thread.currentThread().getId() & (STRIPES - 1);
+        }
+    }
+}
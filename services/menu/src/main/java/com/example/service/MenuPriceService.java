@@ -0,0 +1,83 @@
+package com.example.service;
+
+import com.example.dto.PriceVerifyRequest;
+import com.example.dto.PriceVerifyResponse;
+import com.example.dto.PriceVerifyResponse.ChangedPrice;
+import com.example.exception.NotFoundException;
+import com.example.model.MenuItemPrice;
+import com.example.repository.MenuItemPriceRepository;
+import com.example.repository.MenuRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Price versions. Verification compares the versions a client was quoted
+ * against each merchant's cached {@link MenuItemIndex}, so checkout does not
+ * repeat the lookup; the immutable history answers "what did version N cost".
+ */
+@Service
+@RequiredArgsConstructor
+public class MenuPriceService {
+
+    private final MenuRepository menuRepository;
+    private final MenuItemPriceRepository menuItemPriceRepository;
+    private final MenuCache menuCache;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int inserted = menuItemPriceRepository.backfillCurrentPrices();
+        if (inserted > 0) {
+            System.out.println("Backfilled price history for " + inserted + " menu items");
+        }
+    }
+
+    public PriceVerifyResponse verify(PriceVerifyRequest request) {
+        if (request == null || request.getMerchants() == null || request.getMerchants().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "merchants must not be empty");
+        }
+
+        List<ChangedPrice> changed = new ArrayList<>();
+        for (PriceVerifyRequest.MerchantItems merchant : request.getMerchants()) {
+            Long merchantId = merchant.getMerchantId();
+            if (merchantId == null || merchant.getItems() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "merchantId and items are required");
+            }
+
+            MenuItemIndex index = menuCache.getItemIndex(merchantId,
+                    () -> menuRepository.findByMerchantId(merchantId, true));
+            for (PriceVerifyRequest.ItemVersion item : merchant.getItems()) {
+                int i = item.getItemId() == null ? -1 : index.indexOf(item.getItemId());
+                if (i < 0) {
+                    changed.add(new ChangedPrice(merchantId, item.getItemId(), null, null));
+                } else if (index.priceVersionAt(i) != item.getPriceVersion()) {
+                    changed.add(new ChangedPrice(merchantId, item.getItemId(),
+                            index.priceVersionAt(i), index.priceCentsAt(i)));
+                }
+            }
+        }
+        return new PriceVerifyResponse(changed.isEmpty(), changed);
+    }
+
+    public MenuItemPrice getPriceVersion(Long menuItemId, int version) {
+        return menuItemPriceRepository.findByMenuItemIdAndVersion(menuItemId, version)
+                .orElseThrow(() -> new NotFoundException("Price version", "menuItemId/version",
+                        menuItemId + "/" + version));
+    }
+
+    public List<MenuItemPrice> getPriceHistory(Long menuItemId) {
+        List<MenuItemPrice> history = menuItemPriceRepository.findByMenuItemIdOrderByVersionDesc(menuItemId);
+        if (history.isEmpty()) {
+            throw new NotFoundException("Menu Item", "ID", menuItemId.toString());
+        }
+        return history;
+    }
+}
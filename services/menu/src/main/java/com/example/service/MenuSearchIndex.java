@@ -0,0 +1,512 @@
+package com.example.service;
+
+import com.example.dto.MenuSearchResponse;
+import com.example.dto.MenuSearchResponse.SearchHit;
+import com.example.model.AvailabilityWindow;
+import com.example.model.Menu;
+import com.example.repository.MenuRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over menu item name, description and type, used by
+ * GET /api/menu/search.
+ *
+ * Documents are append-only: updating an item tombstones its old document and
+ * appends a new one, so posting lists stay sorted without rewriting them. The
+ * index is rebuilt once tombstones make up a quarter of it.
+ *
+ * Changes applied while {@link #rebuild()} is reading the table are also
+ * queued and replayed on top of the loaded rows, so an update committed after
+ * the read started is not lost when the older snapshot is swapped in.
+ *
+ * Each document keeps its item's compiled {@link AvailabilitySchedule}, so an
+ * item counts as available, for the filter, the facet and the hit, only while
+ * its status is "available" and its schedule is open, as in the menu itself.
+ */
+@Component
+public class MenuSearchIndex {
+
+    static final int MAX_LIMIT = 100;
+
+    private static final byte FIELD_NAME = 1;
+    private static final byte FIELD_TYPE = 2;
+    private static final byte FIELD_DESCRIPTION = 4;
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MAX_PRICE = Pattern.compile(
+            "(?:under|below|less than|up to|upto|<=?)\\s*\\$?\\s*(\\d+(?:\\.\\d{1,2})?)");
+    private static final Pattern MIN_PRICE = Pattern.compile(
+            "(?:over|above|more than|from|>=?)\\s*\\$?\\s*(\\d+(?:\\.\\d{1,2})?)");
+    private static final int[] PRICE_BUCKETS = {300, 500, 800};
+
+    private final MenuRepository menuRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TreeMap<String, Postings> terms = new TreeMap<>();
+    private Map<Long, Integer> docByItemId = new HashMap<>();
+    private long[] itemIds = new long[0];
+    private long[] merchantIds = new long[0];
+    private int[] prices = new int[0];
+    private boolean[] available = new boolean[0];
+    private AvailabilitySchedule[] schedules = new AvailabilitySchedule[0]; // null entry: always open
+    private Map<List<AvailabilityWindow>, AvailabilitySchedule> compiledSchedules = new HashMap<>();
+    private String[] names = new String[0];
+    private String[] types = new String[0];
+    private String[] descriptions = new String[0];
+    private BitSet live = new BitSet();
+    private int docCount;
+    private int liveCount;
+    // Guarded by the write lock; non-null while a rebuild is loading
+    private List<Runnable> pendingDuringLoad;
+
+    private final Clock clock;
+
+    @Autowired
+    public MenuSearchIndex(MenuRepository menuRepository) {
+        this(menuRepository, Clock.systemUTC());
+    }
+
+    MenuSearchIndex(MenuRepository menuRepository, Clock clock) {
+        this.menuRepository = menuRepository;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Menu> all;
+        try {
+            all = menuRepository.findAll();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            reset(all.size());
+            for (Menu item : all) {
+                append(item);
+            }
+            List<Runnable> pending = pendingDuringLoad;
+            pendingDuringLoad = null;
+            pending.forEach(Runnable::run);
+            replayed = pending.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Menu search index built with " + all.size() + " items, "
+                + replayed + " changes replayed");
+    }
+
+    /** Indexes the item's current state; runs after commit when called inside a transaction. */
+    public void upsert(Menu item) {
+        upsertAll(List.of(item));
+    }
+
+    public void upsertAll(Collection<Menu> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<Menu> snapshot = List.copyOf(items);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(snapshot);
+                }
+            });
+        } else {
+            apply(snapshot);
+        }
+    }
+
+    /**
+     * Flips availability in place. No text changes, so no document is
+     * tombstoned. Runs after commit when called inside a transaction.
+     */
+    public void setAvailable(Collection<Long> menuItemIds, boolean isAvailable) {
+        if (menuItemIds.isEmpty()) {
+            return;
+        }
+        List<Long> snapshot = List.copyOf(menuItemIds);
+        Runnable flip = () -> {
+            lock.writeLock().lock();
+            try {
+                flipAvailable(snapshot, isAvailable);
+                if (pendingDuringLoad != null) {
+                    pendingDuringLoad.add(() -> flipAvailable(snapshot, isAvailable));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    flip.run();
+                }
+            });
+        } else {
+            flip.run();
+        }
+    }
+
+    public MenuSearchResponse search(String query, Long merchantId, Integer minPriceCents,
+                                     Integer maxPriceCents, Boolean availableOnly, int limit) {
+        ParsedQuery parsed = parse(query == null ? "" : query);
+        Integer min = minPriceCents != null ? minPriceCents : parsed.minPriceCents;
+        Integer max = maxPriceCents != null ? maxPriceCents : parsed.maxPriceCents;
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        int minuteOfWeek = AvailabilitySchedule.minuteOfWeek(clock.instant());
+
+        lock.readLock().lock();
+        try {
+            Candidates candidates = parsed.terms.isEmpty() ? allLive() : match(parsed.terms);
+
+            long availableCount = 0;
+            long[] priceCounts = new long[PRICE_BUCKETS.length + 1];
+            PriorityQueue<Integer> top = new PriorityQueue<>(k + 1,
+                    Comparator.<Integer>comparingDouble(doc -> candidates.score(doc))
+                            .thenComparing(doc -> -itemIds[doc]));
+            int total = 0;
+
+            for (int i = 0; i < candidates.size; i++) {
+                int doc = candidates.docs[i];
+                if (merchantId != null && merchantIds[doc] != merchantId) continue;
+
+                // Facet counts reflect the text match, before price/availability filters
+                boolean isAvailable = availableAt(doc, minuteOfWeek);
+                if (isAvailable) availableCount++;
+                priceCounts[bucket(prices[doc])]++;
+
+                if (min != null && prices[doc] < min) continue;
+                if (max != null && prices[doc] > max) continue;
+                if (Boolean.TRUE.equals(availableOnly) && !isAvailable) continue;
+                if (Boolean.FALSE.equals(availableOnly) && isAvailable) continue;
+
+                total++;
+                top.add(doc);
+                if (top.size() > k) top.poll();
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int doc = top.poll();
+                hits.add(new SearchHit(itemIds[doc], merchantIds[doc], names[doc], prices[doc],
+                        types[doc], availableAt(doc, minuteOfWeek), candidates.score(doc)));
+            }
+            Collections.reverse(hits);
+
+            long matched = Arrays.stream(priceCounts).sum();
+            Map<String, Long> priceFacet = new LinkedHashMap<>();
+            priceFacet.put("under_300", priceCounts[0]);
+            priceFacet.put("300_499", priceCounts[1]);
+            priceFacet.put("500_799", priceCounts[2]);
+            priceFacet.put("800_plus", priceCounts[3]);
+            Map<String, Long> availabilityFacet = new LinkedHashMap<>();
+            availabilityFacet.put("available", availableCount);
+            availabilityFacet.put("unavailable", matched - availableCount);
+
+            return new MenuSearchResponse(total, hits,
+                    new MenuSearchResponse.Facets(availabilityFacet, priceFacet));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(List<Menu> items) {
+        lock.writeLock().lock();
+        try {
+            applyLocked(items);
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(() -> applyLocked(items));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean availableAt(int doc, int minuteOfWeek) {
+        return available[doc] && (schedules[doc] == null || schedules[doc].isOpen(minuteOfWeek));
+    }
+
+    private void flipAvailable(List<Long> menuItemIds, boolean isAvailable) {
+        for (Long id : menuItemIds) {
+            Integer doc = docByItemId.get(id);
+            if (doc != null) {
+                available[doc] = isAvailable;
+            }
+        }
+    }
+
+    private void applyLocked(List<Menu> items) {
+        for (Menu item : items) {
+            Integer old = docByItemId.get(item.getMenuItemId());
+            if (old != null) {
+                live.clear(old);
+                liveCount--;
+            }
+            append(item);
+        }
+        if (docCount > 1024 && liveCount < docCount * 3 / 4) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int n = liveCount;
+        long[] oldItemIds = itemIds;
+        long[] oldMerchantIds = merchantIds;
+        int[] oldPrices = prices;
+        boolean[] oldAvailable = available;
+        AvailabilitySchedule[] oldSchedules = schedules;
+        Map<List<AvailabilityWindow>, AvailabilitySchedule> oldCompiled = compiledSchedules;
+        String[] oldNames = names;
+        String[] oldTypes = types;
+        String[] oldDescriptions = descriptions;
+        BitSet oldLive = live;
+
+        reset(n);
+        compiledSchedules = oldCompiled;
+        for (int doc = oldLive.nextSetBit(0); doc >= 0; doc = oldLive.nextSetBit(doc + 1)) {
+            append(oldItemIds[doc], oldMerchantIds[doc], oldNames[doc], oldDescriptions[doc],
+                    oldPrices[doc], oldTypes[doc], oldAvailable[doc], oldSchedules[doc]);
+        }
+    }
+
+    private void reset(int expected) {
+        int capacity = Math.max(16, expected + expected / 4);
+        terms = new TreeMap<>();
+        docByItemId = new HashMap<>(capacity * 2);
+        itemIds = new long[capacity];
+        merchantIds = new long[capacity];
+        prices = new int[capacity];
+        available = new boolean[capacity];
+        schedules = new AvailabilitySchedule[capacity];
+        compiledSchedules = new HashMap<>();
+        names = new String[capacity];
+        types = new String[capacity];
+        descriptions = new String[capacity];
+        live = new BitSet(capacity);
+        docCount = 0;
+        liveCount = 0;
+    }
+
+    private void append(Menu item) {
+        append(item.getMenuItemId(), item.getMerchantId(), item.getName(), item.getDescription(),
+                item.getPriceCents() == null ? 0 : item.getPriceCents(), item.getType(),
+                "available".equals(item.getAvailabilityStatus()), compile(item.getAvailabilitySchedule()));
+    }
+
+    /** Items with identical windows share one compiled schedule. */
+    private AvailabilitySchedule compile(List<AvailabilityWindow> windows) {
+        if (windows == null || windows.isEmpty()) {
+            return null;
+        }
+        return compiledSchedules.computeIfAbsent(new ArrayList<>(windows), AvailabilitySchedule::of);
+    }
+
+    private void append(long itemId, long merchantId, String name, String description,
+                        int priceCents, String type, boolean isAvailable, AvailabilitySchedule schedule) {
+        if (docCount == itemIds.length) {
+            int capacity = itemIds.length * 2;
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            merchantIds = Arrays.copyOf(merchantIds, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            available = Arrays.copyOf(available, capacity);
+            schedules = Arrays.copyOf(schedules, capacity);
+            names = Arrays.copyOf(names, capacity);
+            types = Arrays.copyOf(types, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        int doc = docCount++;
+        itemIds[doc] = itemId;
+        merchantIds[doc] = merchantId;
+        prices[doc] = priceCents;
+        available[doc] = isAvailable;
+        schedules[doc] = schedule;
+        names[doc] = name;
+        types[doc] = type;
+        descriptions[doc] = description;
+        live.set(doc);
+        liveCount++;
+        docByItemId.put(itemId, doc);
+
+        Map<String, Byte> fieldsByToken = new HashMap<>();
+        addTokens(fieldsByToken, name, FIELD_NAME);
+        addTokens(fieldsByToken, type, FIELD_TYPE);
+        addTokens(fieldsByToken, description, FIELD_DESCRIPTION);
+        fieldsByToken.forEach((token, fields) ->
+                terms.computeIfAbsent(token, t -> new Postings()).add(doc, fields));
+    }
+
+    private Candidates match(List<String> queryTerms) {
+        float[] scores = new float[docCount];
+        int[] matchedTerms = new int[docCount];
+        int[] touched = new int[Math.min(docCount, 1024)];
+        int touchedCount = 0;
+        int liveDocs = Math.max(1, liveCount);
+
+        for (int t = 0; t < queryTerms.size(); t++) {
+            String term = queryTerms.get(t);
+            // Prefix match: every indexed token starting with the term, exact tokens weigh more
+            for (Map.Entry<String, Postings> entry : terms.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                Postings postings = entry.getValue();
+                float idf = (float) Math.log(1.0 + (double) liveDocs / postings.size);
+                float termWeight = entry.getKey().length() == term.length() ? idf : 0.6f * idf;
+
+                for (int p = 0; p < postings.size; p++) {
+                    int doc = postings.docs[p];
+                    if (!live.get(doc)) continue;
+                    if (matchedTerms[doc] == t) {
+                        // first token of term t for this doc
+                        matchedTerms[doc] = t + 1;
+                        if (t == 0) {
+                            if (touchedCount == touched.length) {
+                                touched = Arrays.copyOf(touched, Math.min(docCount, touched.length * 2));
+                            }
+                            touched[touchedCount++] = doc;
+                        }
+                    } else if (matchedTerms[doc] != t + 1) {
+                        continue; // missed an earlier term
+                    }
+                    scores[doc] += termWeight * fieldWeight(postings.fields[p]);
+                }
+            }
+        }
+
+        // Keep docs that matched every term
+        int required = queryTerms.size();
+        int kept = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            if (matchedTerms[doc] == required) {
+                touched[kept++] = doc;
+            }
+        }
+        return new Candidates(touched, kept, scores);
+    }
+
+    private Candidates allLive() {
+        int[] docs = new int[liveCount];
+        int n = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            docs[n++] = doc;
+        }
+        return new Candidates(docs, n, null);
+    }
+
+    private static float fieldWeight(byte fields) {
+        float weight = 0f;
+        if ((fields & FIELD_NAME) != 0) weight += 3f;
+        if ((fields & FIELD_TYPE) != 0) weight += 1.5f;
+        if ((fields & FIELD_DESCRIPTION) != 0) weight += 1f;
+        return weight;
+    }
+
+    private static int bucket(int priceCents) {
+        int i = 0;
+        while (i < PRICE_BUCKETS.length && priceCents >= PRICE_BUCKETS[i]) i++;
+        return i;
+    }
+
+    private static void addTokens(Map<String, Byte> fieldsByToken, String text, byte field) {
+        for (String token : tokenize(text)) {
+            fieldsByToken.merge(token, field, (a, b) -> (byte) (a | b));
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    static ParsedQuery parse(String query) {
+        String text = query.toLowerCase(Locale.ROOT);
+        Integer max = null;
+        Integer min = null;
+
+        Matcher matcher = MAX_PRICE.matcher(text);
+        if (matcher.find()) {
+            max = toCents(matcher.group(1));
+            text = matcher.replaceFirst(" ");
+        }
+        matcher = MIN_PRICE.matcher(text);
+        if (matcher.find()) {
+            min = toCents(matcher.group(1));
+            text = matcher.replaceFirst(" ");
+        }
+        return new ParsedQuery(tokenize(text), min, max);
+    }
+
+    private static int toCents(String dollars) {
+        return new BigDecimal(dollars).movePointRight(2).intValue();
+    }
+
+    record ParsedQuery(List<String> terms, Integer minPriceCents, Integer maxPriceCents) {
+    }
+
+    private record Candidates(int[] docs, int size, float[] scores) {
+        float score(int doc) {
+            return scores == null ? 0f : scores[doc];
+        }
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        byte[] fields = new byte[4];
+        int size;
+
+        void add(int doc, byte fieldMask) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            docs[size] = doc;
+            fields[size] = fieldMask;
+            size++;
+        }
+    }
+}
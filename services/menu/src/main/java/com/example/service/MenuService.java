@@ -1,13 +1,33 @@
 package com.example.service;
 
+import com.example.dto.AvailabilityUpdateRequest;
+import com.example.dto.AvailabilityUpdateResult;
+import com.example.dto.MenuPageResponse;
 import com.example.exception.DuplicateException;
 import com.example.exception.NotFoundException;
+import com.example.model.AvailabilityWindow;
 import com.example.model.Menu;
+import com.example.model.MenuContentHash;
+import com.example.model.MenuItemPrice;
+import com.example.model.MenuOutboxEvent;
+import com.example.repository.MenuItemAvailability;
+import com.example.repository.MenuItemPriceRepository;
+import com.example.repository.MenuItemSummary;
+import com.example.repository.MenuOutboxRepository;
 import com.example.repository.MenuRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -16,40 +36,215 @@ import org.springframework.web.server.ResponseStatusException;
 @RequiredArgsConstructor
 public class MenuService {
 
+    static final Set<String> AVAILABILITY_STATUSES = Set.of("available", "out_of_stock", "removed");
+    static final int MAX_BULK_ITEMS = 1000;
+    static final int MAX_MERCHANTS_PER_REQUEST = 50;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    // Output order of a page item; fields= picks a subset
+    private static final Map<String, Function<Menu, Object>> PAGE_FIELDS = new LinkedHashMap<>();
+    static {
+        PAGE_FIELDS.put("menuItemId", Menu::getMenuItemId);
+        PAGE_FIELDS.put("merchantId", Menu::getMerchantId);
+        PAGE_FIELDS.put("name", Menu::getName);
+        PAGE_FIELDS.put("description", Menu::getDescription);
+        PAGE_FIELDS.put("priceCents", Menu::getPriceCents);
+        PAGE_FIELDS.put("priceVersion", Menu::getPriceVersion);
+        PAGE_FIELDS.put("imageUrl", Menu::getImageUrl);
+        PAGE_FIELDS.put("type", Menu::getType);
+        PAGE_FIELDS.put("availabilityStatus", Menu::getAvailabilityStatus);
+        PAGE_FIELDS.put("revision", Menu::getRevision);
+    }
+    // Fields MenuItemSummary can supply without loading the full row
+    private static final Set<String> SUMMARY_FIELDS = Set.of(
+            "menuItemId", "merchantId", "name", "priceCents", "priceVersion", "type", "availabilityStatus", "revision");
+
     private final MenuRepository menuRepository;
+    private final MenuCache menuCache;
+    private final MenuSearchIndex menuSearchIndex;
+    private final MenuOutboxRepository menuOutboxRepository;
+    private final MenuItemPriceRepository menuItemPriceRepository;
+    private final MenuMediaService menuMediaService;
 
     public List<Menu> getMenuItemsByMerchantId(Long merchantId, boolean includeUnavailable) {
-        List<Menu> items = menuRepository.findByMerchantId(merchantId, includeUnavailable);
+        List<Menu> items = menuCache.get(merchantId, includeUnavailable,
+                () -> menuRepository.findByMerchantId(merchantId, includeUnavailable));
         if (items.isEmpty()) {
             throw new NotFoundException("Menu Item", "merchantId", merchantId.toString());
         }
         return items;
     }
 
+    public RenderedMenu getRenderedMenu(Long merchantId, boolean includeUnavailable) {
+        RenderedMenu menu = menuCache.getRendered(merchantId, includeUnavailable,
+                () -> menuRepository.findByMerchantId(merchantId, includeUnavailable));
+        if (menu.itemCount() == 0) {
+            throw new NotFoundException("Menu Item", "merchantId", merchantId.toString());
+        }
+        return menu;
+    }
+
+    /**
+     * Rendered menus of several merchants (e.g. every stall of a food court),
+     * keyed in request order. Merchants without items map to an empty menu
+     * rather than failing the whole request.
+     */
+    public Map<Long, RenderedMenu> getRenderedMenus(List<Long> merchantIds, boolean includeUnavailable) {
+        if (merchantIds == null || merchantIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "merchantIds is required");
+        }
+        List<Long> distinct = merchantIds.stream().distinct().toList();
+        if (distinct.size() > MAX_MERCHANTS_PER_REQUEST) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_MERCHANTS_PER_REQUEST + " merchantIds per request");
+        }
+        return menuCache.getRenderedAll(distinct, includeUnavailable,
+                misses -> menuRepository.findByMerchantIdIn(misses, includeUnavailable));
+    }
+
+    /**
+     * One page of a merchant's menu, keyset-paginated in the same order as the
+     * full menu. When every requested field is in {@link MenuItemSummary} the
+     * query skips description and image_url entirely.
+     *
+     * Read-only, so it is served by the read replica when one is configured.
+     * Cache loads stay on the primary: a load from a lagging replica would be
+     * cached under the merchant's post-write version and served until the
+     * next write.
+     */
+    @Transactional(readOnly = true)
+    public MenuPageResponse getMenuPage(Long merchantId, boolean includeUnavailable,
+                                        String cursor, Integer limit, String fields) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Set<String> selected = parseFields(fields);
+        MenuCursor after = cursor == null ? null : MenuCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page follows. Without
+        // includeUnavailable, rows outside their schedule are dropped as in the
+        // full menu, and the next keyset page is read while the page is short.
+        boolean summaryOnly = SUMMARY_FIELDS.containsAll(selected);
+        int minuteOfWeek = AvailabilitySchedule.minuteOfWeek(Instant.now());
+        Limit fetch = Limit.of(size + 1);
+        List<Menu> rows = new ArrayList<>(size + 1);
+        MenuCursor from = after;
+        while (true) {
+            List<Menu> batch = fetchPage(merchantId, includeUnavailable, summaryOnly, from, fetch);
+            AvailabilitySchedule[] schedules = includeUnavailable ? null : AvailabilitySchedule.compile(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                if (schedules == null || schedules[i] == null || schedules[i].isOpen(minuteOfWeek)) {
+                    rows.add(batch.get(i));
+                }
+            }
+            if (rows.size() > size || batch.size() < fetch.max()) {
+                break;
+            }
+            Menu last = batch.get(batch.size() - 1);
+            from = new MenuCursor(last.getType(), last.getName(), last.getMenuItemId());
+        }
+        if (rows.isEmpty() && after == null) {
+            throw new NotFoundException("Menu Item", "merchantId", merchantId.toString());
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Menu last = rows.get(size - 1);
+            nextCursor = new MenuCursor(last.getType(), last.getName(), last.getMenuItemId()).encode();
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(rows.size());
+        for (Menu row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            PAGE_FIELDS.forEach((field, getter) -> {
+                if (selected.contains(field)) item.put(field, getter.apply(row));
+            });
+            items.add(item);
+        }
+        return new MenuPageResponse(items, nextCursor);
+    }
+
+    private List<Menu> fetchPage(Long merchantId, boolean includeUnavailable, boolean summaryOnly,
+                                 MenuCursor after, Limit limit) {
+        if (summaryOnly) {
+            List<MenuItemSummary> summaries = after == null
+                    ? menuRepository.findFirstSummaryPage(merchantId, includeUnavailable, limit)
+                    : menuRepository.findSummaryPageAfter(merchantId, includeUnavailable,
+                            after.type(), after.name(), after.menuItemId(), limit);
+            return summaries.stream().map(MenuService::fromSummary).toList();
+        }
+        return after == null
+                ? menuRepository.findFirstPage(merchantId, includeUnavailable, limit)
+                : menuRepository.findPageAfter(merchantId, includeUnavailable,
+                        after.type(), after.name(), after.menuItemId(), limit);
+    }
+
+    private static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return PAGE_FIELDS.keySet();
+        }
+        Set<String> selected = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!PAGE_FIELDS.containsKey(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + name + "'; allowed: " + PAGE_FIELDS.keySet());
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    private static Menu fromSummary(MenuItemSummary summary) {
+        return Menu.builder()
+                .menuItemId(summary.getMenuItemId())
+                .merchantId(summary.getMerchantId())
+                .name(summary.getName())
+                .priceCents(summary.getPriceCents())
+                .priceVersion(summary.getPriceVersion())
+                .type(summary.getType())
+                .availabilityStatus(summary.getAvailabilityStatus())
+                .availabilitySchedule(summary.getAvailabilitySchedule())
+                .revision(summary.getRevision())
+                .build();
+    }
+
+    @Transactional
     public Menu createMenuItem(Menu menuItem) {
-        boolean exists = menuRepository
-                .findByMerchantIdAndNameAndDescriptionAndPriceCentsAndImageUrlAndAvailabilityStatusAndType(
-                        menuItem.getMerchantId(),
-                        menuItem.getName(),
-                        menuItem.getDescription(),
-                        menuItem.getPriceCents(),
-                        menuItem.getImageUrl(),
-                        menuItem.getAvailabilityStatus(),
-                        menuItem.getType()
-                ).isPresent();
-
-        if (exists) {
+        menuItem.setAvailabilitySchedule(validSchedule(menuItem.getAvailabilitySchedule()));
+        menuItem.setImageUrl(menuMediaService.externalize(menuItem.getImageUrl()));
+        menuItem.setContentHash(MenuContentHash.of(menuItem));
+        menuItem.setRevision(0);
+        menuItem.setPriceVersion(1);
+        if (menuRepository.existsByMerchantIdAndContentHash(menuItem.getMerchantId(), menuItem.getContentHash())) {
             throw new DuplicateException("Menu Item", "name", menuItem.getName());
         }
 
-        return menuRepository.save(menuItem);
+        Menu saved;
+        try {
+            saved = menuRepository.save(menuItem);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with an identical insert; the unique index caught it
+            throw new DuplicateException("Menu Item", "name", menuItem.getName());
+        }
+        menuItemPriceRepository.save(MenuItemPrice.of(saved));
+        menuOutboxRepository.save(MenuOutboxEvent.of(saved, MenuOutboxEvent.CREATED));
+        menuCache.invalidate(saved.getMerchantId());
+        menuSearchIndex.upsert(saved);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public Menu getMenuItemById(Long menuItemId) {
         return menuRepository.findById(menuItemId)
                 .orElseThrow(() -> new NotFoundException("Menu Item", "ID", menuItemId.toString()));
     }
 
+    @Transactional
     public Menu updateMenuItem(Long merchantId, Long menuItemId, Menu updates) {
         // 1) Ensure the menu item exists
         Menu existing = getMenuItemById(menuItemId); // throws NotFoundException if missing
@@ -66,12 +261,108 @@ public class MenuService {
         // 3) Apply partial updates
         if (updates.getName() != null) existing.setName(updates.getName());
         if (updates.getDescription() != null) existing.setDescription(updates.getDescription());
-        if (updates.getPriceCents() != null) existing.setPriceCents(updates.getPriceCents());
-        if (updates.getImageUrl() != null) existing.setImageUrl(updates.getImageUrl());
+        boolean priceChanged = updates.getPriceCents() != null
+                && !updates.getPriceCents().equals(existing.getPriceCents());
+        if (priceChanged) {
+            existing.setPriceCents(updates.getPriceCents());
+            existing.setPriceVersion(existing.getPriceVersion() + 1);
+        }
+        if (updates.getImageUrl() != null) existing.setImageUrl(menuMediaService.externalize(updates.getImageUrl()));
         if (updates.getType() != null) existing.setType(updates.getType());
         if (updates.getAvailabilityStatus() != null) existing.setAvailabilityStatus(updates.getAvailabilityStatus());
+        // An empty list clears the schedule
+        if (updates.getAvailabilitySchedule() != null) {
+            existing.setAvailabilitySchedule(validSchedule(updates.getAvailabilitySchedule()));
+        }
+
+        existing.updateContentHash();
 
-        return menuRepository.save(existing);
+        Menu saved;
+        try {
+            saved = menuRepository.save(existing);
+            // Flush now: a content_hash conflict surfaces here rather than at commit,
+            // and the bumped revision is known before the outbox row is written
+            menuRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // The update made this item identical to another one of the merchant's items
+            throw new DuplicateException("Menu Item", "name", existing.getName());
+        }
+        if (priceChanged) {
+            menuItemPriceRepository.save(MenuItemPrice.of(saved));
+        }
+        menuOutboxRepository.save(MenuOutboxEvent.of(saved, MenuOutboxEvent.UPDATED));
+        menuCache.invalidate(merchantId);
+        menuSearchIndex.upsert(saved);
+        return saved;
+    }
+
+    /**
+     * Sets the availability of several items (by id, or every item of a type)
+     * with a single UPDATE. The cache is invalidated once for the whole batch.
+     * Unknown ids, or ids of another merchant, fail the request before anything
+     * is written.
+     */
+    @Transactional
+    public AvailabilityUpdateResult updateAvailability(Long merchantId, AvailabilityUpdateRequest request) {
+        String status = request.getAvailabilityStatus();
+        if (status == null || !AVAILABILITY_STATUSES.contains(status)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "availabilityStatus must be one of " + AVAILABILITY_STATUSES);
+        }
+        boolean byIds = request.getItemIds() != null && !request.getItemIds().isEmpty();
+        boolean byType = request.getType() != null && !request.getType().isBlank();
+        if (byIds == byType) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide either itemIds or type");
+        }
+        if (byIds && request.getItemIds().size() > MAX_BULK_ITEMS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BULK_ITEMS + " itemIds per request");
+        }
+
+        List<MenuItemAvailability> rows;
+        if (byIds) {
+            List<Long> itemIds = request.getItemIds().stream().distinct().toList();
+            rows = menuRepository.lockAvailabilityByIds(merchantId, itemIds);
+            if (rows.size() != itemIds.size()) {
+                Set<Long> found = rows.stream().map(MenuItemAvailability::getMenuItemId).collect(Collectors.toSet());
+                List<Long> missingIds = itemIds.stream().filter(id -> !found.contains(id)).toList();
+                throw new NotFoundException("Menu Item(s)", "IDs",
+                        missingIds + " for merchantId=" + merchantId);
+            }
+        } else {
+            rows = menuRepository.lockAvailabilityByType(merchantId, request.getType());
+        }
+
+        List<Long> updated = new ArrayList<>();
+        List<Long> unchanged = new ArrayList<>();
+        for (MenuItemAvailability row : rows) {
+            if (status.equals(row.getAvailabilityStatus())) {
+                unchanged.add(row.getMenuItemId());
+            } else {
+                updated.add(row.getMenuItemId());
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            menuRepository.updateAvailability(updated, status);
+            menuOutboxRepository.insertUpdated(updated);
+            menuCache.invalidate(merchantId);
+            menuSearchIndex.setAvailable(updated, "available".equals(status));
+        }
+        return new AvailabilityUpdateResult(status, updated, unchanged);
+    }
+
+    /** The schedule to store: null for none, otherwise checked so cached reads can compile it. */
+    static List<AvailabilityWindow> validSchedule(List<AvailabilityWindow> schedule) {
+        if (schedule == null || schedule.isEmpty()) {
+            return null;
+        }
+        try {
+            AvailabilitySchedule.of(schedule);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return schedule;
     }
 
     public List<Map<String, Object>> getMenuItemsByIds(Long merchantId, List<Long> itemIds) {
@@ -79,9 +370,9 @@ public class MenuService {
         
         // Check if all requested items were found
         if (menuItems.size() != itemIds.size()) {
-            List<Long> foundIds = menuItems.stream()
+            Set<Long> foundIds = menuItems.stream()
                     .map(Menu::getMenuItemId)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toSet());
             
             List<Long> missingIds = itemIds.stream()
                     .filter(id -> !foundIds.contains(id))
@@ -94,13 +385,16 @@ public class MenuService {
             );
         }
         
+        int minuteOfWeek = AvailabilitySchedule.minuteOfWeek(Instant.now());
         return menuItems.stream()
                 .map(menu -> {
                     Map<String, Object> item = new java.util.HashMap<>();
                     item.put("itemId", menu.getMenuItemId());
                     item.put("name", menu.getName());
                     item.put("priceCents", menu.getPriceCents());
-                    item.put("available", "available".equals(menu.getAvailabilityStatus()));
+                    item.put("priceVersion", menu.getPriceVersion());
+                    item.put("available", "available".equals(menu.getAvailabilityStatus())
+                            && AvailabilitySchedule.isOpen(menu.getAvailabilitySchedule(), minuteOfWeek));
                     return item;
                 })
                 .collect(Collectors.toList());
@@ -0,0 +1,73 @@
+package com.example.service;
+
+import com.example.dto.PriceQuoteRequest;
+import com.example.dto.PriceQuoteResponse;
+import com.example.dto.PriceQuoteResponse.ItemQuote;
+import com.example.dto.PriceQuoteResponse.MerchantQuote;
+import com.example.exception.NotFoundException;
+import com.example.repository.MenuRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Price quotes for order creation, answered from each merchant's cached
+ * {@link MenuItemIndex}. The database is only touched when a merchant's menu
+ * is not cached yet (or has just changed).
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceQuoteService {
+
+    private final MenuRepository menuRepository;
+    private final MenuCache menuCache;
+
+    public PriceQuoteResponse quote(PriceQuoteRequest request) {
+        if (request == null || request.getMerchants() == null || request.getMerchants().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "merchants must not be empty");
+        }
+
+        List<MerchantQuote> quotes = new ArrayList<>(request.getMerchants().size());
+        List<String> missing = new ArrayList<>();
+        int minuteOfWeek = AvailabilitySchedule.minuteOfWeek(Instant.now());
+
+        for (PriceQuoteRequest.MerchantItems merchant : request.getMerchants()) {
+            Long merchantId = merchant.getMerchantId();
+            List<Long> itemIds = merchant.getItemIds();
+            if (merchantId == null || itemIds == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "merchantId and itemIds are required");
+            }
+
+            MenuItemIndex index = menuCache.getItemIndex(merchantId,
+                    () -> menuRepository.findByMerchantId(merchantId, true));
+
+            List<ItemQuote> items = new ArrayList<>(itemIds.size());
+            List<Long> missingIds = null;
+            for (Long itemId : itemIds) {
+                int i = itemId == null ? -1 : index.indexOf(itemId);
+                if (i < 0) {
+                    if (missingIds == null) missingIds = new ArrayList<>();
+                    missingIds.add(itemId);
+                    continue;
+                }
+                items.add(new ItemQuote(index.idAt(i), index.nameAt(i), index.priceCentsAt(i),
+                        index.priceVersionAt(i), index.availableAt(i, minuteOfWeek)));
+            }
+            if (missingIds != null) {
+                missing.add(missingIds + " for merchantId=" + merchantId);
+            }
+            quotes.add(new MerchantQuote(merchantId, items));
+        }
+
+        // Same contract as /menu/items: every requested item must exist
+        if (!missing.isEmpty()) {
+            throw new NotFoundException("Menu Item(s)", "IDs", String.join("; ", missing));
+        }
+        return new PriceQuoteResponse(quotes);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.service;
+
+/**
+ * A menu already serialized to JSON, plus its gzip form when that is worth
+ * sending. Each representation has its own strong ETag, derived from a digest
+ * of the JSON so it stays stable across restarts and instances.
+ */
+public record RenderedMenu(int itemCount, byte[] json, String etag, byte[] gzip, String gzipEtag) {
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    int weight() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
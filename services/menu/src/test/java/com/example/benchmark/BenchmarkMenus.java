@@ -0,0 +1,61 @@
+package com.example.benchmark;
+
+import com.example.model.Menu;
+import com.example.repository.MenuRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Synthetic menus and an in-memory MenuRepository for the benchmarks. Only
+ * the read methods the benchmarked paths call are implemented.
+ */
+final class BenchmarkMenus {
+
+    private BenchmarkMenus() {
+    }
+
+    static List<Menu> menu(long merchantId, int size) {
+        List<Menu> menu = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            menu.add(Menu.builder()
+                    .menuItemId(merchantId * 100_000 + id)
+                    .merchantId(merchantId)
+                    .name("Item " + id)
+                    .description("Description for item " + id + ", served with rice and a side of achar")
+                    .priceCents((int) (100 + id))
+                    .priceVersion(1)
+                    .imageUrl("https://cdn.example.com/menu/" + merchantId + "/" + id + ".jpg")
+                    .type(id % 3 == 0 ? "drink" : "food")
+                    .availabilityStatus(id % 10 == 0 ? "out_of_stock" : "available")
+                    .build());
+        }
+        menu.sort(Comparator.comparing(Menu::getType).thenComparing(Menu::getName));
+        return menu;
+    }
+
+    @SuppressWarnings("unchecked")
+    static MenuRepository repository(List<Menu> items) {
+        Map<Long, Menu> byId = new HashMap<>();
+        items.forEach(m -> byId.put(m.getMenuItemId(), m));
+        return (MenuRepository) Proxy.newProxyInstance(
+                MenuRepository.class.getClassLoader(),
+                new Class<?>[]{MenuRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByMerchantId" -> items.stream()
+                            .filter(m -> m.getMerchantId().equals(args[0]))
+                            .filter(m -> (boolean) args[1] || "available".equals(m.getAvailabilityStatus()))
+                            .toList();
+                    case "findByMerchantIdAndMenuItemIdIn" -> {
+                        List<Menu> found = new ArrayList<>();
+                        for (Long id : (List<Long>) args[1]) {
+                            Menu m = byId.get(id);
+                            if (m != null && m.getMerchantId().equals(args[0])) found.add(m);
+                        }
+                        yield found;
+                    }
+                    case "findAll" -> items;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
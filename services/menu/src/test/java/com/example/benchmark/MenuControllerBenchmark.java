@@ -0,0 +1,92 @@
+package com.example.benchmark;
+
+import com.example.controller.MenuController;
+import com.example.exception.GlobalExceptionHandler;
+import com.example.model.Menu;
+import com.example.repository.MenuRepository;
+import com.example.service.MenuCache;
+import com.example.service.MenuPopularity;
+import com.example.service.MenuSearchIndex;
+import com.example.service.MenuService;
+import com.example.service.RenderedMenu;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Request throughput through the Spring MVC stack (MockMvc, no network) for
+ * the menu read endpoints, with an in-memory repository behind MenuService.
+ * Measures dispatch, argument binding and response writing on top of the
+ * service calls the other benchmarks cover.
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=MenuControllerBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MenuControllerBenchmark {
+
+    private static final long MERCHANT_ID = 1L;
+
+    @Param({"100"})
+    public int menuSize;
+
+    private MockMvc mockMvc;
+    private String etag;
+    private String itemsBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<Menu> menu = BenchmarkMenus.menu(MERCHANT_ID, menuSize);
+        MenuRepository repository = BenchmarkMenus.repository(menu);
+        MenuCache cache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 256L << 20, 1024);
+        MenuService menuService = new MenuService(repository, cache, new MenuSearchIndex(repository), null, null, null);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MenuController(menuService, new MenuPopularity(null, null, 30)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        RenderedMenu rendered = menuService.getRenderedMenu(MERCHANT_ID, false);
+        etag = rendered.etag();
+        itemsBody = menu.stream().limit(10).map(m -> String.valueOf(m.getMenuItemId()))
+                .collect(Collectors.joining(",", "{\"itemIds\":[", "]}"));
+    }
+
+    @Benchmark
+    public MvcResult getMenu() throws Exception {
+        return mockMvc.perform(get("/api/merchants/{merchantId}/menu", MERCHANT_ID)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getMenuGzip() throws Exception {
+        return mockMvc.perform(get("/api/merchants/{merchantId}/menu", MERCHANT_ID)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getMenuNotModified() throws Exception {
+        return mockMvc.perform(get("/api/merchants/{merchantId}/menu", MERCHANT_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult postMenuItems() throws Exception {
+        return mockMvc.perform(post("/api/merchants/{merchantId}/menu/items", MERCHANT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(itemsBody)).andReturn();
+    }
+}
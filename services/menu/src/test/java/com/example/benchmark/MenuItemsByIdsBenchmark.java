@@ -0,0 +1,68 @@
+package com.example.benchmark;
+
+import com.example.exception.NotFoundException;
+import com.example.model.Menu;
+import com.example.repository.MenuRepository;
+import com.example.service.MenuCache;
+import com.example.service.MenuSearchIndex;
+import com.example.service.MenuService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MenuService.getMenuItemsByIds on its own: the missing-id check and one
+ * HashMap per returned item. With missingIds > 0 the call ends in the
+ * NotFoundException path, which builds the missing list and the message.
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=MenuItemsByIdsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MenuItemsByIdsBenchmark {
+
+    private static final long MERCHANT_ID = 1L;
+
+    @Param({"10", "50"})
+    public int requested;
+
+    @Param({"0", "1"})
+    public int missingIds;
+
+    private MenuService menuService;
+    private List<Long> itemIds;
+
+    @Setup
+    public void setUp() {
+        List<Menu> menu = BenchmarkMenus.menu(MERCHANT_ID, 1000);
+        MenuRepository repository = BenchmarkMenus.repository(menu);
+        MenuCache cache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 256L << 20, 1024);
+        menuService = new MenuService(repository, cache, new MenuSearchIndex(repository), null, null, null);
+
+        Random random = new Random(42);
+        Set<Long> ids = new LinkedHashSet<>();
+        while (ids.size() < requested - missingIds) {
+            ids.add(menu.get(random.nextInt(menu.size())).getMenuItemId());
+        }
+        for (int i = 0; i < missingIds; i++) {
+            ids.add(-1L - i);
+        }
+        itemIds = new ArrayList<>(ids);
+    }
+
+    @Benchmark
+    public Object getMenuItemsByIds() {
+        try {
+            return menuService.getMenuItemsByIds(MERCHANT_ID, itemIds);
+        } catch (NotFoundException e) {
+            return e.getMessage();
+        }
+    }
+}
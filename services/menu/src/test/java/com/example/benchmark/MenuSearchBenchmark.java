@@ -0,0 +1,77 @@
+package com.example.benchmark;
+
+import com.example.dto.MenuSearchResponse;
+import com.example.model.Menu;
+import com.example.repository.MenuRepository;
+import com.example.service.MenuSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over a synthetic 100k-item index.
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=MenuSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MenuSearchBenchmark {
+
+    private static final String[] PROTEINS = {"chicken", "duck", "pork", "beef", "fish", "tofu", "prawn", "mutton"};
+    private static final String[] BASES = {"rice", "noodles", "porridge", "bee hoon", "kway teow", "bread", "curry", "soup"};
+    private static final String[] STYLES = {"roast", "steamed", "fried", "braised", "spicy", "claypot", "dry", "soup"};
+
+    @Param({"100000"})
+    public int items;
+
+    private MenuSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<Menu> menu = new ArrayList<>(items);
+        for (long id = 1; id <= items; id++) {
+            String protein = PROTEINS[random.nextInt(PROTEINS.length)];
+            String base = BASES[random.nextInt(BASES.length)];
+            String style = STYLES[random.nextInt(STYLES.length)];
+            menu.add(Menu.builder()
+                    .menuItemId(id)
+                    .merchantId(1 + id % 400)
+                    .name(style + " " + protein + " " + base)
+                    .description("Stall special " + id + " with " + PROTEINS[random.nextInt(PROTEINS.length)])
+                    .priceCents(200 + random.nextInt(1200))
+                    .type(random.nextInt(5) == 0 ? "drink" : "food")
+                    .availabilityStatus(random.nextInt(8) == 0 ? "out_of_stock" : "available")
+                    .build());
+        }
+        MenuRepository repository = (MenuRepository) Proxy.newProxyInstance(
+                MenuRepository.class.getClassLoader(),
+                new Class<?>[]{MenuRepository.class},
+                (proxy, method, args) -> menu);
+        index = new MenuSearchIndex(repository);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public MenuSearchResponse twoTermsWithPrice() {
+        return index.search("chicken rice under $5", null, null, null, true, 20);
+    }
+
+    @Benchmark
+    public MenuSearchResponse shortPrefix() {
+        return index.search("ch", null, null, null, null, 20);
+    }
+
+    @Benchmark
+    public MenuSearchResponse singleMerchant() {
+        return index.search("noodles", 42L, null, null, null, 20);
+    }
+}
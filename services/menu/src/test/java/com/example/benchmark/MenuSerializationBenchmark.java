@@ -0,0 +1,60 @@
+package com.example.benchmark;
+
+import com.example.model.Menu;
+import com.example.service.MenuCache;
+import com.example.service.RenderedMenu;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a menu into response bytes: plain Jackson serialization
+ * (what every request paid before the rendered cache), a full render on a
+ * cache miss (JSON + digest + gzip above the threshold), and a cache hit.
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=MenuSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MenuSerializationBenchmark {
+
+    private static final long MERCHANT_ID = 1L;
+
+    @Param({"10", "100", "1000"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+    private MenuCache cache;
+    private List<Menu> menu;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        cache = new MenuCache(new SimpleMeterRegistry(), objectMapper, 256L << 20, 1024);
+        menu = BenchmarkMenus.menu(MERCHANT_ID, items);
+        cache.getRendered(MERCHANT_ID, true, () -> menu);
+    }
+
+    @Benchmark
+    public byte[] jackson() throws Exception {
+        return objectMapper.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public RenderedMenu renderOnMiss() {
+        cache.invalidate(MERCHANT_ID);
+        return cache.getRendered(MERCHANT_ID, true, () -> menu);
+    }
+
+    @Benchmark
+    public RenderedMenu cachedHit() {
+        return cache.getRendered(MERCHANT_ID, true, () -> menu);
+    }
+}
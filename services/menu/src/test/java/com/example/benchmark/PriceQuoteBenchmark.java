@@ -0,0 +1,76 @@
+package com.example.benchmark;
+
+import com.example.dto.PriceQuoteRequest;
+import com.example.dto.PriceQuoteResponse;
+import com.example.model.Menu;
+import com.example.repository.MenuRepository;
+import com.example.service.MenuCache;
+import com.example.service.MenuSearchIndex;
+import com.example.service.MenuService;
+import com.example.service.PriceQuoteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the legacy /menu/items path (IN query result -> missing-id check ->
+ * one HashMap per item) with the cached index behind /api/menu/quotes.
+ *
+ * The repository is an in-memory stub, so the legacy numbers exclude the
+ * Postgres round trip the quote path also avoids; treat them as a lower bound.
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=PriceQuoteBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceQuoteBenchmark {
+
+    private static final long MERCHANT_ID = 1L;
+
+    @Param({"100", "1000"})
+    public int menuSize;
+
+    @Param({"5", "20"})
+    public int itemsPerOrder;
+
+    private MenuService menuService;
+    private PriceQuoteService priceQuoteService;
+    private List<Long> itemIds;
+    private PriceQuoteRequest quoteRequest;
+
+    @Setup
+    public void setUp() {
+        List<Menu> menu = BenchmarkMenus.menu(MERCHANT_ID, menuSize);
+
+        Random random = new Random(42);
+        itemIds = new ArrayList<>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            itemIds.add(MERCHANT_ID * 100_000 + 1 + random.nextInt(menuSize));
+        }
+        itemIds = new ArrayList<>(new LinkedHashSet<>(itemIds));
+
+        MenuRepository repository = BenchmarkMenus.repository(menu);
+        MenuCache cache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 256L << 20, 1024);
+        menuService = new MenuService(repository, cache, new MenuSearchIndex(repository), null, null, null);
+        priceQuoteService = new PriceQuoteService(repository, cache);
+        quoteRequest = new PriceQuoteRequest(List.of(new PriceQuoteRequest.MerchantItems(MERCHANT_ID, itemIds)));
+        priceQuoteService.quote(quoteRequest); // warm the index
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> legacyGetMenuItemsByIds() {
+        return menuService.getMenuItemsByIds(MERCHANT_ID, itemIds);
+    }
+
+    @Benchmark
+    public PriceQuoteResponse indexedQuote() {
+        return priceQuoteService.quote(quoteRequest);
+    }
+}
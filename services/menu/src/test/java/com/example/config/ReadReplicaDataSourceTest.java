@@ -0,0 +1,129 @@
+package com.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadReplicaDataSource Unit Tests")
+class ReadReplicaDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private HikariDataSource replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadReplicaDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ReadReplicaDataSource(primary, replica, 5000, meterRegistry);
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("Should read from the replica while it is healthy")
+    void getConnection_Replica() throws Exception {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        assertSame(replicaConnection, dataSource.getConnection());
+        assertEquals(1.0, reads("replica"));
+        assertEquals(0.0, reads("primary"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica connection fails")
+    void getConnection_ReplicaDown() throws Exception {
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        verify(replica, times(1)).getConnection(); // stays on the primary until the next check
+        assertEquals(2.0, fallbacks("error"));
+        assertEquals(2.0, reads("primary"));
+        assertFalse(dataSource.isUsable());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags")
+    void getConnection_Lagging() throws Exception {
+        replicaLag(8000);
+        dataSource.checkReplica();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1.0, fallbacks("lag"));
+        assertEquals(8000.0, meterRegistry.get("datasource.replica.lag").gauge().value());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.available").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should return to the replica once a check succeeds")
+    void checkReplica_Recovers() throws Exception {
+        when(replica.getConnection())
+                .thenThrow(new SQLTransientConnectionException("timeout"))
+                .thenReturn(replicaConnection);
+        dataSource.getConnection();
+        assertFalse(dataSource.isUsable());
+
+        replicaLag(0);
+        dataSource.checkReplica();
+
+        assertTrue(dataSource.isUsable());
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica's WAL receiver is down")
+    void getConnection_Disconnected() throws Exception {
+        replicaLag(-1); // standby that has replayed all it received, but receives nothing
+        dataSource.checkReplica();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1.0, fallbacks("disconnected"));
+        assertFalse(dataSource.isUsable());
+
+        replicaLag(0);
+        dataSource.checkReplica();
+        assertTrue(dataSource.isUsable());
+    }
+
+    private void replicaLag(long lagMs) throws Exception {
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(1)).thenReturn(lagMs);
+    }
+
+    private double reads(String pool) {
+        return meterRegistry.get("datasource.reads").tag("pool", pool).counter().count();
+    }
+
+    private double fallbacks(String reason) {
+        return meterRegistry.get("datasource.replica.fallbacks").tag("reason", reason).counter().count();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.controller;
 
 import com.example.model.Menu;
 import com.example.repository.MenuRepository;
+import com.example.service.MenuCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,6 +52,9 @@ class MenuControllerIntegrationTest {
     @Autowired
     private MenuRepository menuRepository;
 
+    @Autowired
+    private MenuCache menuCache;
+
     private Long testMerchantId;
     private Long anotherMerchantId;
     private Menu burger;
@@ -61,6 +65,7 @@ class MenuControllerIntegrationTest {
     @BeforeEach
     void setUp() {
         menuRepository.deleteAll();
+        menuCache.clear();
         
         testMerchantId = 1L;
         anotherMerchantId = 2L;
@@ -144,6 +149,22 @@ class MenuControllerIntegrationTest {
                         containsInAnyOrder("Burger", "Pizza", "Coke", "Ice Cream")));
     }
 
+    @Test
+    @DisplayName("Should return 304 when the menu ETag has not changed")
+    void getMenuByMerchantId_IfNoneMatch_ReturnsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/merchants/{merchantId}/menu", testMerchantId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/merchants/{merchantId}/menu", testMerchantId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("Should order menu items by type then name")
     void getMenuByMerchantId_OrderedByTypeAndName() throws Exception {
@@ -0,0 +1,39 @@
+package com.example.listener;
+
+import com.example.dto.MenuItemChangedEvent;
+import com.example.model.Menu;
+import com.example.service.MenuCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuItemChangedListenerTest {
+
+    private final MenuCache menuCache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 1_000_000L, 1024);
+    private final MenuItemChangedListener listener = new MenuItemChangedListener(menuCache);
+
+    @Test
+    @DisplayName("Should drop the cached menu of a merchant changed on another instance")
+    void handleMenuItemChanged_InvalidatesMerchant() {
+        // Given
+        Menu before = Menu.builder().menuItemId(1L).merchantId(7L).name("Laksa").priceCents(650).build();
+        Menu after = Menu.builder().menuItemId(1L).merchantId(7L).name("Laksa").priceCents(700).build();
+        menuCache.get(7L, true, () -> List.of(before));
+        menuCache.get(8L, true, () -> List.of(before));
+        long version = menuCache.version(7L);
+
+        // When
+        listener.handleMenuItemChanged(new MenuItemChangedEvent(7L,
+                List.of(new MenuItemChangedEvent.ItemChange(1L, 2L, "UPDATED", 700, "available"))));
+
+        // Then
+        assertEquals(version + 1, menuCache.version(7L));
+        assertEquals(700, menuCache.get(7L, true, () -> List.of(after)).get(0).getPriceCents());
+        assertEquals(650, menuCache.get(8L, true, () -> List.of(after)).get(0).getPriceCents());
+    }
+}
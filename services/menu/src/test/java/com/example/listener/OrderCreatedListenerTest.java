@@ -0,0 +1,70 @@
+package com.example.listener;
+
+import com.example.dto.OrderCreatedEvent;
+import com.example.service.MenuPopularity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderCreatedListener Unit Tests")
+class OrderCreatedListenerTest {
+
+    // As published by the orders service: { order: toDTO(getFullOrderById(...)) }
+    private static final String ORDER_CREATED = """
+            {"order":{"order_id":412,"customer_email":"jane@example.com","order_status":"awaiting_payment",
+             "delivery_time":"2026-10-19T04:30:00.000Z","payment_deadline_time":"2026-10-19T03:50:00.000Z",
+             "building":"SCIS1","room_type":"Seminar Room","room_number":"2-4","merchant_id":7,
+             "amounts":{"food_amount_cents":1550,"delivery_fee_cents":100,"total_amount_cents":1650},
+             "items":[{"menuItemId":31,"name":"Chicken Rice","unitPriceCents":450,"qty":2,"options":{}},
+                      {"menuItemId":35,"name":"Iced Milo","unitPriceCents":650,"qty":1,"options":{"ice":"less"}}],
+             "created_time":"2026-10-19T02:11:42.181Z","updated_time":null}}
+            """;
+
+    @Mock
+    private MenuPopularity menuPopularity;
+
+    @Test
+    @DisplayName("Should count every item of an order.created message from the orders service")
+    void handleOrderCreated_RealPayload_RecordsItems() {
+        // Given: no content type or type id header, as amqplib sends it
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId("0b8d4c1e-5f57-4c55-9a43-4a8f7f1f2c11");
+        properties.setHeader("sourceService", "order");
+        properties.setInferredArgumentType(OrderCreatedEvent.class);
+        Message message = new Message(ORDER_CREATED.getBytes(StandardCharsets.UTF_8), properties);
+        OrderCreatedEvent event = (OrderCreatedEvent) new Jackson2JsonMessageConverter().fromMessage(message);
+
+        // When
+        new OrderCreatedListener(menuPopularity).handleOrderCreated(event);
+
+        // Then
+        verify(menuPopularity).record(eq(7L), eq(31L), eq(2), any());
+        verify(menuPopularity).record(eq(7L), eq(35L), eq(1), any());
+        verify(menuPopularity, times(2)).record(anyLong(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should ignore an order.created message without items")
+    void handleOrderCreated_NoItems_Ignored() {
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrder(new OrderCreatedEvent.Order());
+
+        new OrderCreatedListener(menuPopularity).handleOrderCreated(event);
+
+        verifyNoInteractions(menuPopularity);
+    }
+}
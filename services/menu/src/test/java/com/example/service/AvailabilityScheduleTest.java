@@ -0,0 +1,161 @@
+package com.example.service;
+
+import com.example.model.AvailabilityWindow;
+import com.example.model.Menu;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AvailabilitySchedule Unit Tests")
+class AvailabilityScheduleTest {
+
+    // Monday 2025-03-10, Asia/Singapore
+    private static final Instant MONDAY_0800 = Instant.parse("2025-03-10T00:00:00Z");
+    private static final Instant MONDAY_1200 = Instant.parse("2025-03-10T04:00:00Z");
+
+    private static final List<AvailabilityWindow> WEEKDAY_BREAKFAST =
+            List.of(new AvailabilityWindow(List.of("MON", "TUE", "WED", "THU", "FRI"), "07:00", "11:00"));
+
+    @Test
+    @DisplayName("Should be open inside a window and closed outside it")
+    void isOpen_Window() {
+        AvailabilitySchedule schedule = AvailabilitySchedule.of(WEEKDAY_BREAKFAST);
+
+        assertTrue(schedule.isOpen(AvailabilitySchedule.minuteOfWeek(MONDAY_0800)));
+        assertFalse(schedule.isOpen(AvailabilitySchedule.minuteOfWeek(MONDAY_1200)));
+        assertFalse(schedule.isOpen(AvailabilitySchedule.minuteOfWeek(MONDAY_0800.plus(Duration.ofDays(5))))); // Saturday
+        assertFalse(schedule.isOpen(AvailabilitySchedule.minuteOfWeek(Instant.parse("2025-03-10T03:00:00Z")))); // 11:00, end is exclusive
+    }
+
+    @Test
+    @DisplayName("Should run a window past midnight, including Sunday into Monday")
+    void isOpen_Overnight() {
+        AvailabilitySchedule schedule = AvailabilitySchedule.of(
+                List.of(new AvailabilityWindow(List.of("SUN"), "22:00", "02:00")));
+
+        assertTrue(schedule.isOpen(AvailabilitySchedule.minuteOfWeek(Instant.parse("2025-03-09T15:00:00Z")))); // Sun 23:00
+        assertTrue(schedule.isOpen(AvailabilitySchedule.minuteOfWeek(Instant.parse("2025-03-09T17:30:00Z")))); // Mon 01:30
+        assertFalse(schedule.isOpen(AvailabilitySchedule.minuteOfWeek(Instant.parse("2025-03-09T18:00:00Z")))); // Mon 02:00
+    }
+
+    @Test
+    @DisplayName("Should count the minutes to the next opening or closing")
+    void minutesUntilChange() {
+        AvailabilitySchedule schedule = AvailabilitySchedule.of(WEEKDAY_BREAKFAST);
+
+        assertEquals(180, schedule.minutesUntilChange(AvailabilitySchedule.minuteOfWeek(MONDAY_0800)));
+        assertEquals(19 * 60, schedule.minutesUntilChange(AvailabilitySchedule.minuteOfWeek(MONDAY_1200)));
+        // Friday 11:00 -> Monday 07:00, across the end of the week
+        int friday = AvailabilitySchedule.minuteOfWeek(Instant.parse("2025-03-14T03:00:00Z"));
+        assertEquals(68 * 60, schedule.minutesUntilChange(friday));
+
+        AvailabilitySchedule always = AvailabilitySchedule.of(List.of(new AvailabilityWindow(
+                List.of("MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN"), "00:00", "00:00")));
+        assertEquals(Integer.MAX_VALUE, always.minutesUntilChange(0));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown days and malformed times")
+    void of_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> AvailabilitySchedule.of(
+                List.of(new AvailabilityWindow(List.of("FUNDAY"), "07:00", "11:00"))));
+        assertThrows(IllegalArgumentException.class, () -> AvailabilitySchedule.of(
+                List.of(new AvailabilityWindow(List.of("MON"), "7am", "11:00"))));
+        assertThrows(IllegalArgumentException.class, () -> AvailabilitySchedule.of(
+                List.of(new AvailabilityWindow(List.of(), "07:00", "11:00"))));
+    }
+
+    @Test
+    @DisplayName("Should share one compiled schedule between items with the same windows")
+    void compile_Interns() {
+        AvailabilitySchedule[] schedules = AvailabilitySchedule.compile(List.of(
+                item(1L, WEEKDAY_BREAKFAST), item(2L, null), item(3L, List.copyOf(WEEKDAY_BREAKFAST))));
+
+        assertSame(schedules[0], schedules[2]);
+        assertNull(schedules[1]);
+        assertNull(AvailabilitySchedule.compile(List.of(item(1L, null))));
+    }
+
+    @Test
+    @DisplayName("Should re-filter the cached menu when a window closes, without reloading it")
+    void menuCache_RefiltersWithoutReload() {
+        MutableClock clock = new MutableClock(MONDAY_0800);
+        MenuCache cache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 1_000_000L, 1024, clock);
+        List<Menu> rows = List.of(item(1L, WEEKDAY_BREAKFAST), item(2L, null));
+        AtomicInteger loads = new AtomicInteger();
+
+        RenderedMenu breakfast = cache.getRendered(1L, false, () -> { loads.incrementAndGet(); return rows; });
+        assertEquals(2, breakfast.itemCount());
+
+        clock.now = MONDAY_0800.plus(Duration.ofMinutes(179));
+        assertSame(breakfast, cache.getRendered(1L, false, () -> { loads.incrementAndGet(); return rows; }));
+
+        clock.now = MONDAY_0800.plus(Duration.ofHours(3));
+        RenderedMenu lunch = cache.getRendered(1L, false, () -> { loads.incrementAndGet(); return rows; });
+        assertEquals(1, lunch.itemCount());
+        assertNotEquals(breakfast.etag(), lunch.etag());
+        assertEquals(1, loads.get());
+
+        // The full menu is not filtered by schedule
+        assertEquals(2, cache.get(1L, true, () -> rows).size());
+    }
+
+    @Test
+    @DisplayName("Should report scheduled items as unavailable in the item index outside their window")
+    void menuItemIndex_AvailableAt() {
+        MenuItemIndex index = MenuItemIndex.of(List.of(item(1L, WEEKDAY_BREAKFAST), item(2L, null)));
+
+        int morning = AvailabilitySchedule.minuteOfWeek(MONDAY_0800);
+        int noon = AvailabilitySchedule.minuteOfWeek(MONDAY_1200);
+        assertTrue(index.availableAt(index.indexOf(1L), morning));
+        assertFalse(index.availableAt(index.indexOf(1L), noon));
+        assertTrue(index.availableAt(index.indexOf(2L), noon));
+    }
+
+    private static Menu item(Long id, List<AvailabilityWindow> schedule) {
+        return Menu.builder()
+                .menuItemId(id)
+                .merchantId(1L)
+                .name("Item " + id)
+                .priceCents(500)
+                .type("food")
+                .availabilityStatus("available")
+                .availabilitySchedule(schedule)
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.service;
+
+import com.example.config.RabbitMQConfig;
+import com.example.dto.MenuItemChangedEvent;
+import com.example.model.MenuOutboxEvent;
+import com.example.repository.MenuOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MenuEventPublisher Unit Tests")
+class MenuEventPublisherTest {
+
+    @Mock
+    private MenuOutboxRepository outboxRepository;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MenuEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new MenuEventPublisher(outboxRepository, rabbitTemplate, transactionTemplate, 10, 7, 200);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should send one message per merchant with the latest revision of each item")
+    void publishBatch_CoalescesPerMerchant() {
+        confirmWith(true);
+        when(outboxRepository.claimUnpublished(10)).thenReturn(List.of(
+                event(1L, 1L, 100L, 1, 500),
+                event(2L, 1L, 100L, 2, 550),
+                event(3L, 1L, 101L, 1, 300),
+                event(4L, 2L, 200L, 4, 800)));
+
+        int claimed = publisher.publishBatch();
+
+        assertEquals(4, claimed);
+        ArgumentCaptor<Object> bodies = ArgumentCaptor.forClass(Object.class);
+        verify(rabbitTemplate, times(2)).convertAndSend(eq(RabbitMQConfig.EVENTS_EXCHANGE),
+                eq(RabbitMQConfig.MENU_ITEM_CHANGED_KEY), bodies.capture(), any(MessagePostProcessor.class),
+                any(CorrelationData.class));
+
+        MenuItemChangedEvent first = (MenuItemChangedEvent) bodies.getAllValues().get(0);
+        assertEquals(1L, first.getMerchantId());
+        assertEquals(2, first.getItems().size());
+        assertEquals(2L, first.getItems().get(0).getRevision());
+        assertEquals(550, first.getItems().get(0).getPriceCents());
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L, 3L, 4L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should leave events unpublished when the broker is unavailable")
+    void publishPending_BrokerDown_DoesNotMarkPublished() {
+        when(outboxRepository.claimUnpublished(10)).thenReturn(List.of(event(1L, 1L, 100L, 1, 500)));
+        doThrow(new AmqpConnectException(new java.net.ConnectException("refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class),
+                        any(MessagePostProcessor.class), any(CorrelationData.class));
+
+        assertDoesNotThrow(() -> publisher.publishPending());
+
+        verify(outboxRepository, never()).markPublished(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Should leave events unpublished when the broker nacks or never confirms")
+    void publishPending_NotConfirmed_DoesNotMarkPublished() {
+        when(outboxRepository.claimUnpublished(10)).thenReturn(List.of(event(1L, 1L, 100L, 1, 500)));
+
+        confirmWith(false);
+        assertDoesNotThrow(() -> publisher.publishPending());
+
+        // no confirm at all: gives up after the 200 ms timeout
+        reset(rabbitTemplate);
+        assertDoesNotThrow(() -> publisher.publishPending());
+
+        verify(outboxRepository, never()).markPublished(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Should reuse the message id when the same outbox rows are published again")
+    void publishBatch_Retry_KeepsMessageId() {
+        confirmWith(true);
+        when(outboxRepository.claimUnpublished(10))
+                .thenReturn(List.of(event(1L, 1L, 100L, 1, 500), event(2L, 2L, 200L, 1, 800)))
+                .thenReturn(List.of(event(1L, 1L, 100L, 1, 500), event(2L, 2L, 200L, 1, 800)))
+                .thenReturn(List.of(event(3L, 1L, 100L, 2, 550)));
+
+        publisher.publishBatch();
+        publisher.publishBatch();
+        publisher.publishBatch();
+
+        ArgumentCaptor<MessagePostProcessor> processors = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate, times(5)).convertAndSend(anyString(), anyString(), any(Object.class),
+                processors.capture(), any(CorrelationData.class));
+        List<String> ids = processors.getAllValues().stream()
+                .map(processor -> processor.postProcessMessage(new Message(new byte[0], new MessageProperties()))
+                        .getMessageProperties().getMessageId())
+                .toList();
+        assertEquals(ids.get(0), ids.get(2));
+        assertEquals(ids.get(1), ids.get(3));
+        assertNotEquals(ids.get(0), ids.get(1));
+        assertNotEquals(ids.get(0), ids.get(4));
+    }
+
+    private void confirmWith(boolean ack) {
+        lenient().doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(4);
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class),
+                any(MessagePostProcessor.class), any(CorrelationData.class));
+    }
+
+    private static MenuOutboxEvent event(Long id, Long merchantId, Long itemId, long revision, int priceCents) {
+        return MenuOutboxEvent.builder()
+                .id(id)
+                .merchantId(merchantId)
+                .menuItemId(itemId)
+                .revision(revision)
+                .changeType(MenuOutboxEvent.UPDATED)
+                .priceCents(priceCents)
+                .availabilityStatus("available")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
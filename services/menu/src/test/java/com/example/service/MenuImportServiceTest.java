@@ -0,0 +1,267 @@
+package com.example.service;
+
+import com.example.dto.MenuImportResult;
+import com.example.model.AvailabilityWindow;
+import com.example.model.Menu;
+import com.example.model.MenuContentHash;
+import com.example.repository.MenuMediaRepository;
+import com.example.repository.MenuRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MenuImportService Unit Tests")
+class MenuImportServiceTest {
+
+    private static final Long MERCHANT_ID = 1L;
+
+    @Mock
+    private MenuRepository menuRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private MenuCache menuCache;
+    @Mock
+    private MenuSearchIndex menuSearchIndex;
+    @Mock
+    private MenuMediaRepository menuMediaRepository;
+
+    private MenuImportService importService;
+    private final List<List<Menu>> insertedChunks = new ArrayList<>();
+    // Ids the outbox and price statements were run for
+    private final List<List<Object>> followUpIds = new ArrayList<>();
+    // Content hashes a concurrent create inserts first
+    private final Set<String> insertedConcurrently = new HashSet<>();
+    private long nextId = 100;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        importService = new MenuImportService(menuRepository, jdbcTemplate, transactionTemplate,
+                objectMapper, menuCache, menuSearchIndex,
+                new MenuMediaService(menuMediaRepository, 1024, ""), 2);
+
+        Menu existing = Menu.builder()
+                .menuItemId(1L).merchantId(MERCHANT_ID).name("Chicken Rice").description("Steamed")
+                .priceCents(450).type("food").availabilityStatus("available").build();
+        when(menuRepository.findContentHashesByMerchantId(MERCHANT_ID))
+                .thenReturn(List.of(MenuContentHash.of(existing)));
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        lenient().when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    List<Object[]> columns = arrays(invocation.getArgument(0));
+                    List<Menu> chunk = new ArrayList<>();
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < columns.get(0).length; i++) {
+                        Menu item = Menu.builder()
+                                .name((String) columns.get(0)[i])
+                                .description((String) columns.get(1)[i])
+                                .priceCents((Integer) columns.get(2)[i])
+                                .imageUrl((String) columns.get(3)[i])
+                                .type((String) columns.get(4)[i])
+                                .availabilityStatus((String) columns.get(5)[i])
+                                .contentHash((String) columns.get(6)[i])
+                                .availabilitySchedule(columns.get(7)[i] == null ? null : List.of(objectMapper
+                                        .readValue((String) columns.get(7)[i], AvailabilityWindow[].class)))
+                                .build();
+                        chunk.add(item);
+                        if (!insertedConcurrently.contains(item.getContentHash())) {
+                            ids.add(nextId++);
+                        }
+                    }
+                    insertedChunks.add(chunk);
+                    return ids;
+                });
+        lenient().when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenAnswer(invocation -> {
+            followUpIds.add(Arrays.asList(arrays(invocation.getArgument(0)).get(0)));
+            return 0;
+        });
+    }
+
+    /** Runs the statement creator against a mock connection and returns the arrays it bound. */
+    private static List<Object[]> arrays(PreparedStatementCreator creator) throws SQLException {
+        List<Object[]> arrays = new ArrayList<>();
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(con.createArrayOf(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            arrays.add(invocation.getArgument(1));
+            return mock(Array.class);
+        });
+        creator.createPreparedStatement(con);
+        return arrays;
+    }
+
+    @Test
+    @DisplayName("Should import CSV in chunks, skipping duplicates and invalid rows")
+    void importItems_Csv_ChunksDedupsAndRejects() throws Exception {
+        String csv = """
+                name,description,priceCents,imageUrl,type,availabilityStatus
+                Chicken Rice,Steamed,450,,food,available
+                "Duck Rice, Large","Braised ""house"" duck",650,,food,
+                Iced Milo,,200,,drink,available
+                Iced Milo,,200,,drink,available
+                Kopi,,abc,,drink,available
+                ,,100,,food,available
+                Teh,,150,,drink,out_of_stock
+                """;
+
+        MenuImportResult result = importService.importItems(MERCHANT_ID, MenuImportService.FORMAT_CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(7, result.getReceived());
+        assertEquals(3, result.getInserted());
+        assertEquals(2, result.getDuplicates()); // existing Chicken Rice + repeated Iced Milo
+        assertEquals(2, result.getRejected());
+        assertTrue(result.getErrors().get(0).startsWith("line 6:"));
+
+        assertEquals(2, insertedChunks.size()); // chunk size 2
+        Menu duck = insertedChunks.get(0).get(0);
+        assertEquals("Duck Rice, Large", duck.getName());
+        assertEquals("Braised \"house\" duck", duck.getDescription());
+        assertEquals("available", duck.getAvailabilityStatus()); // defaulted
+        verify(menuCache).invalidate(MERCHANT_ID);
+        verify(menuSearchIndex).upsertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON and stop at malformed input")
+    void importItems_Ndjson_StopsOnMalformedLine() throws Exception {
+        String ndjson = """
+                {"name":"Laksa","priceCents":550,"type":"food"}
+                {"name":"Mee Siam","priceCents":500,"type":"food"}
+                {"name": oops
+                {"name":"Never read","priceCents":1,"type":"food"}
+                """;
+
+        MenuImportResult result = importService.importItems(MERCHANT_ID, MenuImportService.FORMAT_NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getInserted());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getErrors().get(0).contains("malformed JSON"));
+    }
+
+    @Test
+    @DisplayName("Should leave the cache alone when nothing was inserted")
+    void importItems_OnlyDuplicates_DoesNotInvalidate() throws Exception {
+        String csv = "name,description,priceCents,type\nChicken Rice,Steamed,450,food\n";
+
+        MenuImportResult result = importService.importItems(MERCHANT_ID, MenuImportService.FORMAT_CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.getDuplicates());
+        assertEquals(0, result.getInserted());
+        verifyNoInteractions(menuCache);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should count and emit events only for rows the import actually inserted")
+    void importItems_ConcurrentCreate_SkipsRowItLost() throws Exception {
+        // Given: Laksa is created through the API while the import is running
+        insertedConcurrently.add(MenuContentHash.of(Menu.builder()
+                .name("Laksa").priceCents(550).type("food").build()));
+        String ndjson = """
+                {"name":"Laksa","priceCents":550,"type":"food"}
+                {"name":"Mee Siam","priceCents":500,"type":"food"}
+                """;
+
+        // When
+        MenuImportResult result = importService.importItems(MERCHANT_ID, MenuImportService.FORMAT_NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(List.of(List.of(100L), List.of(100L)), followUpIds); // outbox, then prices
+    }
+
+    @Test
+    @DisplayName("Should carry schedules through import and reject bad schedules and statuses")
+    void importItems_Csv_SchedulesAndStatuses() throws Exception {
+        String csv = """
+                name,priceCents,type,availabilityStatus,availabilitySchedule
+                Kaya Toast,250,food,available,"[{""days"":[""MON""],""from"":""07:00"",""to"":""11:00""}]"
+                Soft Eggs,180,food,sold_out,
+                Half Boiled,180,food,,"[{""days"":[""FUNDAY""],""from"":""07:00"",""to"":""11:00""}]"
+                Kopi O,120,drink,,not json
+                """;
+
+        MenuImportResult result = importService.importItems(MERCHANT_ID, MenuImportService.FORMAT_CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(3, result.getRejected());
+        assertTrue(result.getErrors().get(0).startsWith("line 3: availabilityStatus must be one of"));
+        assertTrue(result.getErrors().get(1).contains("unknown day 'FUNDAY'"));
+        assertTrue(result.getErrors().get(2).contains("availabilitySchedule is not a JSON array"));
+        assertEquals(List.of(new AvailabilityWindow(List.of("MON"), "07:00", "11:00")),
+                insertedChunks.get(0).get(0).getAvailabilitySchedule());
+    }
+
+    @Test
+    @DisplayName("Should export schedules so an export imports back unchanged")
+    void exportItems_Csv_RoundTripsSchedule() throws Exception {
+        doAnswer(invocation -> {
+            ((Consumer<?>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(anyString())).thenAnswer(invocation -> switch ((String) invocation.getArgument(0)) {
+            case "name" -> "Kaya Toast";
+            case "type" -> "food";
+            case "availability_status" -> "out_of_stock";
+            case "availability_schedule" -> "[{\"days\": [\"MON\"], \"from\": \"07:00\", \"to\": \"11:00\"}]";
+            default -> null;
+        });
+        when(rs.getInt("price_cents")).thenReturn(250);
+        doAnswer(invocation -> {
+            ((RowCallbackHandler) invocation.getArgument(1)).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importService.exportItems(MERCHANT_ID, MenuImportService.FORMAT_CSV, out);
+        importService.importItems(MERCHANT_ID, MenuImportService.FORMAT_CSV, new ByteArrayInputStream(out.toByteArray()));
+
+        Menu imported = insertedChunks.get(0).get(0);
+        assertEquals("out_of_stock", imported.getAvailabilityStatus());
+        assertEquals(List.of(new AvailabilityWindow(List.of("MON"), "07:00", "11:00")), imported.getAvailabilitySchedule());
+    }
+}
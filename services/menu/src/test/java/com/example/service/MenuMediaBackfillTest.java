@@ -0,0 +1,74 @@
+package com.example.service;
+
+import com.example.model.Menu;
+import com.example.repository.MenuMediaRepository;
+import com.example.repository.MenuRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MenuMediaBackfill Unit Tests")
+class MenuMediaBackfillTest {
+
+    private static final String BASE = "https://api.example.com";
+
+    @Mock
+    private MenuRepository menuRepository;
+    @Mock
+    private MenuMediaRepository menuMediaRepository;
+    @Mock
+    private MenuCache menuCache;
+
+    @Test
+    @DisplayName("Should rewrite inline images and bare media paths, skipping items that fail")
+    void backfill_RewritesAndSkipsFailures() {
+        // Given
+        MenuMediaBackfill backfill = new MenuMediaBackfill(menuRepository,
+                new MenuMediaService(menuMediaRepository, 1024, BASE), menuCache);
+        String png = "data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[]{1, 2, 3});
+        Menu conflicting = item(1L, png);
+        Menu inline = item(2L, png);
+        Menu bare = item(3L, MenuMediaService.MEDIA_PATH + "a".repeat(64));
+        when(menuRepository.findByImageUrlStartingWith("data:")).thenReturn(List.of(conflicting, inline));
+        when(menuRepository.findByImageUrlStartingWith(MenuMediaService.MEDIA_PATH)).thenReturn(List.of(bare));
+        when(menuRepository.save(any(Menu.class))).thenAnswer(invocation -> {
+            Menu item = invocation.getArgument(0);
+            if (item.getMenuItemId() == 1L) {
+                throw new ObjectOptimisticLockingFailureException(Menu.class, 1L);
+            }
+            return item;
+        });
+
+        // When
+        assertDoesNotThrow(backfill::backfill);
+
+        // Then
+        assertTrue(inline.getImageUrl().startsWith(BASE + MenuMediaService.MEDIA_PATH));
+        assertEquals(BASE + MenuMediaService.MEDIA_PATH + "a".repeat(64), bare.getImageUrl());
+        verify(menuRepository, times(3)).save(any(Menu.class));
+        verify(menuCache, times(2)).invalidate(7L);
+    }
+
+    private static Menu item(Long id, String imageUrl) {
+        return Menu.builder()
+                .menuItemId(id)
+                .merchantId(7L)
+                .name("Item " + id)
+                .priceCents(500)
+                .type("food")
+                .availabilityStatus("available")
+                .imageUrl(imageUrl)
+                .build();
+    }
+}
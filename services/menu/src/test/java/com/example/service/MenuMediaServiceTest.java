@@ -0,0 +1,101 @@
+package com.example.service;
+
+import com.example.exception.NotFoundException;
+import com.example.repository.MenuMediaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MenuMediaService Unit Tests")
+class MenuMediaServiceTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 13, 10, 26, 10, 0, 0, 0, 13};
+
+    @Mock
+    private MenuMediaRepository menuMediaRepository;
+
+    private MenuMediaService menuMediaService;
+
+    @BeforeEach
+    void setUp() {
+        menuMediaService = new MenuMediaService(menuMediaRepository, 64, "");
+    }
+
+    @Test
+    @DisplayName("Should leave ordinary URLs and nulls untouched")
+    void externalize_RegularUrl_Unchanged() {
+        assertEquals("https://cdn.example.com/a.jpg", menuMediaService.externalize("https://cdn.example.com/a.jpg"));
+        assertNull(menuMediaService.externalize(null));
+        verifyNoInteractions(menuMediaRepository);
+    }
+
+    @Test
+    @DisplayName("Should store a data URI once under its SHA-256 and return the media path")
+    void externalize_DataUri_StoredByContentHash() {
+        String dataUri = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+
+        String first = menuMediaService.externalize(dataUri);
+        String second = menuMediaService.externalize(dataUri.replace("data:image/png", "DATA:IMAGE/PNG"));
+
+        assertTrue(first.startsWith(MenuMediaService.MEDIA_PATH));
+        assertEquals(MenuMediaService.MEDIA_PATH.length() + 64, first.length());
+        assertEquals(first, second);
+        String hash = first.substring(MenuMediaService.MEDIA_PATH.length());
+        verify(menuMediaRepository, times(2)).insertIfAbsent(eq(hash), eq("image/png"), eq(PNG), any());
+    }
+
+    @Test
+    @DisplayName("Should return absolute media URLs under the configured public base URL")
+    void externalize_PublicBaseUrl_ReturnsAbsoluteUrl() {
+        MenuMediaService gateway = new MenuMediaService(menuMediaRepository, 64, "https://api.example.com/");
+        String dataUri = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+
+        String url = gateway.externalize(dataUri);
+        String bare = url.substring("https://api.example.com".length());
+
+        assertTrue(url.startsWith("https://api.example.com" + MenuMediaService.MEDIA_PATH));
+        assertTrue(gateway.isBareMediaPath(bare));
+        assertEquals(url, gateway.externalize(bare)); // paths stored before the base URL was set
+        assertEquals(url, gateway.externalize(url));
+        assertFalse(menuMediaService.isBareMediaPath(bare)); // no base URL configured
+    }
+
+    @Test
+    @DisplayName("Should reject SVG, non-base64 and oversized data URIs")
+    void externalize_UnsupportedDataUri_ThrowsBadRequest() {
+        String svg = "data:image/svg+xml;base64," + Base64.getEncoder().encodeToString("<svg/>".getBytes());
+        String plain = "data:image/png,%89PNG";
+        String large = "data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[65]);
+
+        for (String dataUri : new String[]{svg, plain, large}) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> menuMediaService.externalize(dataUri));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+        verifyNoInteractions(menuMediaRepository);
+    }
+
+    @Test
+    @DisplayName("Should not query the database for malformed media keys")
+    void get_MalformedHash_ThrowsNotFound() {
+        assertThrows(NotFoundException.class, () -> menuMediaService.get("../etc/passwd"));
+        verifyNoInteractions(menuMediaRepository);
+
+        String hash = "a".repeat(64);
+        when(menuMediaRepository.findById(hash)).thenReturn(Optional.empty());
+        assertThrows(NotFoundException.class, () -> menuMediaService.get(hash));
+    }
+}
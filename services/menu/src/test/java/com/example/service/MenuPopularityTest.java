@@ -0,0 +1,193 @@
+package com.example.service;
+
+import com.example.model.Menu;
+import com.example.model.MenuItemPopularity;
+import com.example.repository.MenuItemPopularityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MenuPopularity Unit Tests")
+class MenuPopularityTest {
+
+    // 2025-03-10 12:00 in Singapore
+    private static final Instant NOON = Instant.parse("2025-03-10T04:00:00Z");
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private MenuItemPopularityRepository repository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MenuPopularity popularity;
+
+    @BeforeEach
+    void setUp() {
+        popularity = new MenuPopularity(repository, transactionTemplate, 30);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should count the last hour and the whole day separately")
+    void count_SlidingWindows() {
+        popularity.record(1L, 100L, 2, NOON.minus(Duration.ofMinutes(90)));
+        popularity.record(1L, 100L, 3, NOON.minus(Duration.ofMinutes(30)));
+        popularity.record(1L, 100L, 1, NOON);
+
+        assertEquals(4, popularity.count(100L, MenuPopularity.Window.HOUR, NOON));
+        assertEquals(6, popularity.count(100L, MenuPopularity.Window.TODAY, NOON));
+        assertEquals(1, popularity.count(100L, MenuPopularity.Window.HOUR, NOON.plus(Duration.ofMinutes(59))));
+        assertEquals(0, popularity.count(100L, MenuPopularity.Window.HOUR, NOON.plus(Duration.ofMinutes(60))));
+        assertEquals(0, popularity.count(200L, MenuPopularity.Window.HOUR, NOON));
+    }
+
+    @Test
+    @DisplayName("Should start a new day at midnight Singapore time")
+    void count_DayRollsOver() {
+        Instant lateNight = Instant.parse("2025-03-10T15:50:00Z"); // 23:50 SGT
+        popularity.record(1L, 100L, 5, lateNight);
+
+        Instant afterMidnight = lateNight.plus(Duration.ofMinutes(20));
+        popularity.record(1L, 100L, 1, afterMidnight);
+
+        assertEquals(1, popularity.count(100L, MenuPopularity.Window.TODAY, afterMidnight));
+        assertEquals(6, popularity.count(100L, MenuPopularity.Window.HOUR, afterMidnight));
+    }
+
+    @Test
+    @DisplayName("Should not lose increments from concurrent listeners")
+    void record_Concurrent() throws InterruptedException {
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    popularity.record(1L, 100L, 1, NOON);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals((long) threads * perThread, popularity.count(100L, MenuPopularity.Window.HOUR, NOON));
+        assertEquals((long) threads * perThread, popularity.count(100L, MenuPopularity.Window.TODAY, NOON));
+    }
+
+    @Test
+    @DisplayName("Should order items by count and keep menu order for ties")
+    void sortByPopularity_MostOrderedFirst() {
+        Menu a = item(1L, "Mains", "Chicken Rice");
+        Menu b = item(2L, "Mains", "Laksa");
+        Menu c = item(3L, "Mains", "Nasi Lemak");
+        Menu d = item(4L, "Drinks", "Teh");
+        popularity.record(1L, 3L, 5, NOON);
+        popularity.record(1L, 2L, 1, NOON);
+        popularity.record(1L, 4L, 1, NOON);
+
+        List<Menu> sorted = popularity.sortByPopularity(List.of(a, b, c, d), MenuPopularity.Window.HOUR, NOON);
+
+        assertEquals(List.of(c, b, d, a), sorted);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown window")
+    void window_Invalid() {
+        assertEquals(MenuPopularity.Window.HOUR, MenuPopularity.window(null));
+        assertEquals(MenuPopularity.Window.TODAY, MenuPopularity.window("today"));
+        assertThrows(ResponseStatusException.class, () -> MenuPopularity.window("week"));
+    }
+
+    @Test
+    @DisplayName("Should flush only counts that changed and drop idle items")
+    void flush_WritesChangedCounts() {
+        popularity.record(1L, 100L, 2, NOON);
+        popularity.record(2L, 200L, 1, NOON);
+
+        assertEquals(2, popularity.flush(NOON));
+        verify(repository).upsert(eq(100L), eq(1L), eq(DAY), eq(2L), any());
+        verify(repository).upsert(eq(200L), eq(2L), eq(DAY), eq(1L), any());
+
+        clearInvocations(repository);
+        popularity.record(1L, 100L, 1, NOON);
+        assertEquals(1, popularity.flush(NOON));
+        verify(repository).upsert(eq(100L), eq(1L), eq(DAY), eq(3L), any());
+        verifyNoMoreInteractions(repository);
+
+        Instant tomorrow = NOON.plus(Duration.ofDays(1));
+        assertEquals(0, popularity.flush(tomorrow));
+        assertEquals(0, popularity.trackedItems());
+    }
+
+    @Test
+    @DisplayName("Should write the same counts again when the transaction fails")
+    void flush_RetriesAfterFailure() {
+        popularity.record(1L, 100L, 2, NOON);
+        when(repository.upsert(any(), any(), any(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> popularity.flush(NOON));
+        assertEquals(1, popularity.flush(NOON));
+        verify(repository, times(2)).upsert(eq(100L), eq(1L), eq(DAY), eq(2L), any());
+    }
+
+    @Test
+    @DisplayName("Should still write yesterday's final count after midnight")
+    void flush_AfterMidnight() {
+        Instant lateNight = Instant.parse("2025-03-10T15:59:00Z"); // 23:59 SGT
+        popularity.record(1L, 100L, 4, lateNight);
+
+        popularity.flush(lateNight.plus(Duration.ofMinutes(5)));
+
+        verify(repository).upsert(eq(100L), eq(1L), eq(DAY), eq(4L), any());
+    }
+
+    @Test
+    @DisplayName("Should resume today's counts from the database")
+    void load_RestoresToday() {
+        when(repository.findByOrderDate(DAY)).thenReturn(List.of(MenuItemPopularity.builder()
+                .menuItemId(100L).merchantId(1L).orderDate(DAY).orderCount(7).build()));
+
+        popularity.load(NOON);
+        popularity.record(1L, 100L, 1, NOON);
+
+        assertEquals(8, popularity.count(100L, MenuPopularity.Window.TODAY, NOON));
+        assertEquals(1, popularity.count(100L, MenuPopularity.Window.HOUR, NOON));
+        popularity.flush(NOON);
+        verify(repository).upsert(eq(100L), eq(1L), eq(DAY), eq(8L), any());
+    }
+
+    private static Menu item(Long id, String type, String name) {
+        return Menu.builder().menuItemId(id).merchantId(1L).type(type).name(name).build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.service;
+
+import com.example.dto.PriceVerifyRequest;
+import com.example.dto.PriceVerifyRequest.ItemVersion;
+import com.example.dto.PriceVerifyRequest.MerchantItems;
+import com.example.dto.PriceVerifyResponse;
+import com.example.exception.NotFoundException;
+import com.example.model.Menu;
+import com.example.repository.MenuItemPriceRepository;
+import com.example.repository.MenuRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MenuPriceService Unit Tests")
+class MenuPriceServiceTest {
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    @Mock
+    private MenuItemPriceRepository menuItemPriceRepository;
+
+    @Spy
+    private MenuCache menuCache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 1_000_000L, 1024);
+
+    @InjectMocks
+    private MenuPriceService menuPriceService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(menuRepository.findByMerchantId(1L, true)).thenReturn(List.of(
+                item(10L, 550, 1),
+                item(11L, 650, 3)));
+    }
+
+    @Test
+    @DisplayName("Should accept quoted versions that are still current, from the cached index")
+    void verify_CurrentVersions_Valid() {
+        PriceVerifyRequest request = new PriceVerifyRequest(List.of(
+                new MerchantItems(1L, List.of(new ItemVersion(10L, 1), new ItemVersion(11L, 3)))));
+
+        PriceVerifyResponse first = menuPriceService.verify(request);
+        PriceVerifyResponse second = menuPriceService.verify(request);
+
+        assertTrue(first.isValid());
+        assertTrue(second.getChanged().isEmpty());
+        verify(menuRepository, times(1)).findByMerchantId(1L, true);
+        verifyNoInteractions(menuItemPriceRepository);
+    }
+
+    @Test
+    @DisplayName("Should report the current price of items whose version moved or that are gone")
+    void verify_StaleVersions_ReportsChanges() {
+        PriceVerifyRequest request = new PriceVerifyRequest(List.of(
+                new MerchantItems(1L, List.of(new ItemVersion(10L, 1), new ItemVersion(11L, 2),
+                        new ItemVersion(99L, 1)))));
+
+        PriceVerifyResponse response = menuPriceService.verify(request);
+
+        assertFalse(response.isValid());
+        assertEquals(2, response.getChanged().size());
+        assertEquals(11L, response.getChanged().get(0).getItemId());
+        assertEquals(3, response.getChanged().get(0).getPriceVersion());
+        assertEquals(650, response.getChanged().get(0).getPriceCents());
+        assertNull(response.getChanged().get(1).getPriceVersion()); // item 99 does not exist
+    }
+
+    @Test
+    @DisplayName("Should throw NotFoundException for an unknown price version")
+    void getPriceVersion_Unknown_ThrowsNotFound() {
+        when(menuItemPriceRepository.findByMenuItemIdAndVersion(10L, 7)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> menuPriceService.getPriceVersion(10L, 7));
+    }
+
+    private static Menu item(Long id, int priceCents, int priceVersion) {
+        return Menu.builder()
+                .menuItemId(id).merchantId(1L).name("Item " + id).priceCents(priceCents)
+                .priceVersion(priceVersion).type("food").availabilityStatus("available").build();
+    }
+}
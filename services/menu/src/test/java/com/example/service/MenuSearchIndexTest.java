@@ -0,0 +1,175 @@
+package com.example.service;
+
+import com.example.dto.MenuSearchResponse;
+import com.example.model.AvailabilityWindow;
+import com.example.model.Menu;
+import com.example.repository.MenuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MenuSearchIndex Unit Tests")
+class MenuSearchIndexTest {
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    private MenuSearchIndex index;
+
+    // Monday 2025-03-10 08:00 and 12:00, Asia/Singapore
+    private static final Instant MONDAY_0800 = Instant.parse("2025-03-10T00:00:00Z");
+    private static final Instant MONDAY_1200 = Instant.parse("2025-03-10T04:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        index = new MenuSearchIndex(menuRepository, Clock.fixed(MONDAY_0800, ZoneOffset.UTC));
+        when(menuRepository.findAll()).thenReturn(List.of(
+                item(1L, 1L, "Chicken Rice", "Steamed chicken with fragrant rice", 450, "food", "available"),
+                item(2L, 1L, "Roast Chicken Rice", "Roasted chicken", 550, "food", "available"),
+                item(3L, 2L, "Duck Rice", "Braised duck, comes with chicken soup", 500, "food", "available"),
+                item(4L, 2L, "Chicken Curry", "Spicy", 400, "food", "out_of_stock"),
+                item(5L, 3L, "Iced Milo", "Cold chocolate malt drink", 200, "drink", "available")));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rank name matches first and require every term")
+    void search_MultipleTerms_RanksByRelevance() {
+        MenuSearchResponse response = index.search("chicken rice", null, null, null, null, 10);
+
+        assertEquals(3, response.getTotal()); // Chicken Curry has no "rice"
+        assertEquals(1L, response.getResults().get(0).getMenuItemId());
+        assertEquals(2L, response.getResults().get(1).getMenuItemId());
+        assertEquals(3L, response.getResults().get(2).getMenuItemId()); // only in description
+    }
+
+    @Test
+    @DisplayName("Should match on prefixes")
+    void search_Prefix_Matches() {
+        MenuSearchResponse response = index.search("chick cur", null, null, null, null, 10);
+
+        assertEquals(1, response.getTotal());
+        assertEquals("Chicken Curry", response.getResults().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Should read a price limit from the query text")
+    void search_PriceInQuery_FiltersByPrice() {
+        MenuSearchResponse response = index.search("chicken rice under $5", null, null, null, null, 10);
+
+        assertEquals(2, response.getTotal());
+        assertTrue(response.getResults().stream().allMatch(hit -> hit.getPriceCents() <= 500));
+        // facets count the text match before the price filter
+        assertEquals(3L, response.getFacets().getAvailability().get("available"));
+    }
+
+    @Test
+    @DisplayName("Should filter on availability and report facet counts")
+    void search_AvailabilityFacet() {
+        MenuSearchResponse response = index.search("chicken", null, null, null, true, 10);
+
+        assertEquals(3, response.getTotal());
+        assertEquals(3L, response.getFacets().getAvailability().get("available"));
+        assertEquals(1L, response.getFacets().getAvailability().get("unavailable"));
+        assertEquals(2L, response.getFacets().getPrice().get("300_499"));
+    }
+
+    @Test
+    @DisplayName("Should count a scheduled item as available only inside its window")
+    void search_Schedule_AppliesAtSearchTime() {
+        Menu breakfast = item(6L, 3L, "Kaya Toast", "Toast with kaya", 250, "food", "available");
+        breakfast.setAvailabilitySchedule(List.of(new AvailabilityWindow(List.of("MON"), "07:00", "11:00")));
+        when(menuRepository.findAll()).thenReturn(List.of(breakfast));
+
+        index.rebuild();
+        assertEquals(1, index.search("toast", null, null, null, true, 10).getTotal());
+
+        MenuSearchIndex atNoon = new MenuSearchIndex(menuRepository, Clock.fixed(MONDAY_1200, ZoneOffset.UTC));
+        atNoon.rebuild();
+        MenuSearchResponse response = atNoon.search("toast", null, null, null, null, 10);
+        assertFalse(response.getResults().get(0).isAvailable());
+        assertEquals(1L, response.getFacets().getAvailability().get("unavailable"));
+        assertEquals(0, atNoon.search("toast", null, null, null, true, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("Should return only the top k results")
+    void search_Limit_ReturnsTopK() {
+        MenuSearchResponse response = index.search("chicken", null, null, null, null, 2);
+
+        assertEquals(4, response.getTotal());
+        assertEquals(2, response.getResults().size());
+    }
+
+    @Test
+    @DisplayName("Should keep changes made while a rebuild is reading the table")
+    void rebuild_ReplaysChangesMadeDuringLoad() {
+        // Given: the snapshot still has the old name and Duck Rice in stock
+        when(menuRepository.findAll()).thenAnswer(invocation -> {
+            List<Menu> snapshot = List.of(
+                    item(1L, 1L, "Chicken Rice", "Steamed chicken with fragrant rice", 450, "food", "available"),
+                    item(3L, 2L, "Duck Rice", "Braised duck", 500, "food", "available"));
+            // committed after the snapshot was read
+            index.upsert(item(1L, 1L, "Hainanese Chicken Rice", "Steamed chicken", 480, "food", "available"));
+            index.setAvailable(List.of(3L), false);
+            return snapshot;
+        });
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(2, index.size());
+        assertEquals(1, index.search("hainanese", null, null, null, null, 10).getTotal());
+        assertEquals(0, index.search("duck", null, null, null, true, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("Should reflect created and updated items without a rebuild")
+    void upsert_UpdatesIndexIncrementally() {
+        index.upsert(item(6L, 3L, "Chicken Chop", "Grilled", 650, "food", "available"));
+        index.upsert(item(1L, 1L, "Hainanese Rice", "Plain rice", 450, "food", "available"));
+
+        MenuSearchResponse response = index.search("chicken", null, null, null, null, 10);
+
+        assertEquals(4, response.getTotal());
+        assertTrue(response.getResults().stream().anyMatch(hit -> hit.getMenuItemId() == 6L));
+        assertTrue(response.getResults().stream().noneMatch(hit -> hit.getMenuItemId() == 1L));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    @DisplayName("Should parse price phrases out of the query")
+    void parse_PricePhrases() {
+        MenuSearchIndex.ParsedQuery parsed = MenuSearchIndex.parse("Chicken Rice above $3 under $5.50");
+
+        assertEquals(List.of("chicken", "rice"), parsed.terms());
+        assertEquals(550, parsed.maxPriceCents());
+        assertEquals(300, parsed.minPriceCents());
+    }
+
+    private static Menu item(Long id, Long merchantId, String name, String description,
+                             int priceCents, String type, String status) {
+        return Menu.builder()
+                .menuItemId(id)
+                .merchantId(merchantId)
+                .name(name)
+                .description(description)
+                .priceCents(priceCents)
+                .type(type)
+                .availabilityStatus(status)
+                .build();
+    }
+}
@@ -1,16 +1,32 @@
 package com.example.service;
 
+import com.example.dto.AvailabilityUpdateRequest;
+import com.example.dto.AvailabilityUpdateResult;
+import com.example.dto.MenuPageResponse;
 import com.example.exception.DuplicateException;
 import com.example.exception.NotFoundException;
+import com.example.model.AvailabilityWindow;
 import com.example.model.Menu;
+import com.example.model.MenuContentHash;
+import com.example.model.MenuOutboxEvent;
+import com.example.model.MenuItemPrice;
+import com.example.repository.MenuItemAvailability;
+import com.example.repository.MenuItemPriceRepository;
+import com.example.repository.MenuItemSummary;
+import com.example.repository.MenuOutboxRepository;
 import com.example.repository.MenuRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -27,6 +43,21 @@ class MenuServiceTest {
     @Mock
     private MenuRepository menuRepository;
 
+    @Spy
+    private MenuCache menuCache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 1_000_000L, 1024);
+
+    @Mock
+    private MenuSearchIndex menuSearchIndex;
+
+    @Mock
+    private MenuOutboxRepository menuOutboxRepository;
+
+    @Mock
+    private MenuItemPriceRepository menuItemPriceRepository;
+
+    @Mock
+    private MenuMediaService menuMediaService;
+
     @InjectMocks
     private MenuService menuService;
 
@@ -38,6 +69,7 @@ class MenuServiceTest {
     @BeforeEach
     void setUp() {
         testMerchantId = 1L;
+        lenient().when(menuMediaService.externalize(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Setup available menu item
         testMenuItem1 = Menu.builder()
@@ -125,6 +157,156 @@ class MenuServiceTest {
         verify(menuRepository, times(1)).findByMerchantId(nonExistentMerchantId, false);
     }
 
+    @Test
+    @DisplayName("Should serve repeated menu reads from the cache")
+    void getMenuItemsByMerchantId_SecondCall_UsesCache() {
+        // Given
+        when(menuRepository.findByMerchantId(testMerchantId, false))
+                .thenReturn(Arrays.asList(testMenuItem1, testMenuItem2));
+
+        // When
+        menuService.getMenuItemsByMerchantId(testMerchantId, false);
+        List<Menu> result = menuService.getMenuItemsByMerchantId(testMerchantId, false);
+
+        // Then
+        assertEquals(2, result.size());
+        verify(menuRepository, times(1)).findByMerchantId(testMerchantId, false);
+    }
+
+    @Test
+    @DisplayName("Should reload the menu after an item is updated")
+    void updateMenuItem_InvalidatesCachedMenu() {
+        // Given
+        when(menuRepository.findByMerchantId(testMerchantId, true))
+                .thenReturn(Arrays.asList(testMenuItem1, testMenuItem2, unavailableMenuItem));
+        when(menuRepository.findById(1L)).thenReturn(Optional.of(testMenuItem1));
+        when(menuRepository.save(any(Menu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        menuService.getMenuItemsByMerchantId(testMerchantId, true);
+
+        // When
+        Menu updates = new Menu();
+        updates.setPriceCents(1700);
+        menuService.updateMenuItem(testMerchantId, 1L, updates);
+        menuService.getMenuItemsByMerchantId(testMerchantId, true);
+
+        // Then
+        verify(menuCache).invalidate(testMerchantId);
+        verify(menuRepository, times(2)).findByMerchantId(testMerchantId, true);
+    }
+
+    @Test
+    @DisplayName("Should not rehash a legacy duplicate row on an availability-only update")
+    void updateMenuItem_LegacyDuplicate_KeepsNullHash() {
+        // Given: a row the backfill left without a hash because it duplicates another item
+        Menu legacy = Menu.builder()
+                .menuItemId(9L)
+                .merchantId(testMerchantId)
+                .name(testMenuItem1.getName())
+                .description(testMenuItem1.getDescription())
+                .priceCents(testMenuItem1.getPriceCents())
+                .type(testMenuItem1.getType())
+                .availabilityStatus("available")
+                .build();
+        legacy.markContentPersisted(); // as loaded by JPA
+        when(menuRepository.findById(9L)).thenReturn(Optional.of(legacy));
+        when(menuRepository.save(any(Menu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Menu toggle = new Menu();
+        toggle.setAvailabilityStatus("out_of_stock");
+        Menu toggled = menuService.updateMenuItem(testMerchantId, 9L, toggle);
+
+        // Then
+        assertEquals("out_of_stock", toggled.getAvailabilityStatus());
+        assertNull(toggled.getContentHash());
+
+        // When: a content change makes it a distinct item again
+        Menu rename = new Menu();
+        rename.setName("Large " + testMenuItem1.getName());
+        Menu renamed = menuService.updateMenuItem(testMerchantId, 9L, rename);
+
+        // Then
+        assertEquals(MenuContentHash.of(renamed), renamed.getContentHash());
+    }
+
+    @Test
+    @DisplayName("Should not serve a menu loaded while the merchant was being updated")
+    void menuCache_LoadRacingWithWrite_IsDiscarded() {
+        // Given: the merchant is updated while its menu is being loaded
+        List<Menu> stale = Arrays.asList(testMenuItem1);
+        List<Menu> fresh = Arrays.asList(testMenuItem1, testMenuItem2);
+
+        // When
+        menuCache.get(testMerchantId, false, () -> {
+            menuCache.invalidate(testMerchantId);
+            return stale;
+        });
+        List<Menu> result = menuCache.get(testMerchantId, false, () -> fresh);
+
+        // Then
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used menus once the weight bound is reached")
+    void menuCache_OverWeight_EvictsLeastRecentlyUsed() {
+        // Given: room for roughly one single-item menu
+        MenuCache smallCache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 700L, 1024);
+
+        // When
+        smallCache.get(1L, false, () -> List.of(testMenuItem1));
+        smallCache.get(2L, false, () -> List.of(testMenuItem2));
+
+        // Then
+        assertEquals(1, smallCache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should reload a cached menu once its time to live has passed")
+    void menuCache_Ttl_ExpiresEntries() {
+        // Given
+        java.time.Clock clock = mock(java.time.Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        MenuCache ttlCache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 1_000_000L, 1024,
+                60_000L, clock);
+        ttlCache.get(testMerchantId, false, () -> List.of(testMenuItem1));
+
+        // When
+        when(clock.millis()).thenReturn(59_999L);
+        List<Menu> beforeExpiry = ttlCache.get(testMerchantId, false, () -> List.of(testMenuItem2));
+        when(clock.millis()).thenReturn(60_000L);
+        List<Menu> afterExpiry = ttlCache.get(testMerchantId, false, () -> List.of(testMenuItem2));
+
+        // Then
+        assertEquals(List.of(testMenuItem1), beforeExpiry);
+        assertEquals(List.of(testMenuItem2), afterExpiry);
+    }
+
+    @Test
+    @DisplayName("Should keep the rendered menu and ETag until the merchant changes")
+    void getRenderedMenu_EtagChangesOnlyAfterUpdate() {
+        // Given
+        when(menuRepository.findByMerchantId(testMerchantId, false))
+                .thenReturn(Arrays.asList(testMenuItem1, testMenuItem2));
+        when(menuRepository.findById(1L)).thenReturn(Optional.of(testMenuItem1));
+        when(menuRepository.save(any(Menu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        RenderedMenu first = menuService.getRenderedMenu(testMerchantId, false);
+        RenderedMenu second = menuService.getRenderedMenu(testMerchantId, false);
+        Menu updates = new Menu();
+        updates.setPriceCents(1700);
+        menuService.updateMenuItem(testMerchantId, 1L, updates);
+        RenderedMenu afterUpdate = menuService.getRenderedMenu(testMerchantId, false);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(2, first.itemCount());
+        assertFalse(first.hasGzip()); // below the gzip threshold
+        assertNotEquals(first.etag(), afterUpdate.etag());
+        assertTrue(new String(afterUpdate.json()).contains("1700"));
+    }
+
     @Test
     @DisplayName("Should create menu item successfully")
     void createMenuItem_Success() {
@@ -139,9 +321,8 @@ class MenuServiceTest {
                 .availabilityStatus("available")
                 .build();
 
-        when(menuRepository.findByMerchantIdAndNameAndDescriptionAndPriceCentsAndImageUrlAndAvailabilityStatusAndType(
-                anyLong(), anyString(), anyString(), anyInt(), anyString(), anyString(), anyString()))
-                .thenReturn(Optional.empty());
+        when(menuRepository.existsByMerchantIdAndContentHash(eq(testMerchantId), anyString()))
+                .thenReturn(false);
 
         when(menuRepository.save(any(Menu.class))).thenAnswer(invocation -> {
             Menu saved = invocation.getArgument(0);
@@ -156,16 +337,32 @@ class MenuServiceTest {
         assertNotNull(result);
         assertNotNull(result.getMenuItemId());
         assertEquals("New Item", result.getName());
+        assertEquals(1, result.getPriceVersion());
         verify(menuRepository, times(1)).save(any(Menu.class));
+        verify(menuItemPriceRepository).save(argThat((MenuItemPrice price) ->
+                price.getMenuItemId() == 10L && price.getVersion() == 1 && price.getPriceCents() == 1000));
+    }
+
+    @Test
+    @DisplayName("Should reject a menu item with an invalid availability schedule")
+    void createMenuItem_InvalidSchedule_ThrowsBadRequest() {
+        // Given
+        testMenuItem1.setAvailabilitySchedule(List.of(new AvailabilityWindow(List.of("MON"), "07:00", "late")));
+
+        // When & Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> menuService.createMenuItem(testMenuItem1));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(menuRepository, never()).save(any());
     }
 
     @Test
     @DisplayName("Should throw DuplicateException when creating duplicate menu item")
     void createMenuItem_Duplicate_ThrowsException() {
         // Given
-        when(menuRepository.findByMerchantIdAndNameAndDescriptionAndPriceCentsAndImageUrlAndAvailabilityStatusAndType(
-                anyLong(), anyString(), anyString(), anyInt(), anyString(), anyString(), anyString()))
-                .thenReturn(Optional.of(testMenuItem1));
+        when(menuRepository.existsByMerchantIdAndContentHash(testMerchantId, MenuContentHash.of(testMenuItem1)))
+                .thenReturn(true);
 
         // When & Then
         DuplicateException exception = assertThrows(DuplicateException.class,
@@ -176,6 +373,284 @@ class MenuServiceTest {
         verify(menuRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Should report a duplicate when the unique content index rejects the insert")
+    void createMenuItem_ConstraintViolation_ThrowsDuplicate() {
+        // Given: the probe misses, but a concurrent identical insert wins the race
+        when(menuRepository.existsByMerchantIdAndContentHash(eq(testMerchantId), anyString())).thenReturn(false);
+        when(menuRepository.save(any(Menu.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_menu_items_merchant_content"));
+
+        // When & Then
+        assertThrows(DuplicateException.class, () -> menuService.createMenuItem(testMenuItem1));
+        verify(menuCache, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("Should hash item content but not availability")
+    void contentHash_IgnoresAvailability() {
+        Menu outOfStock = Menu.builder()
+                .merchantId(testMerchantId)
+                .name(testMenuItem1.getName())
+                .description(testMenuItem1.getDescription())
+                .priceCents(testMenuItem1.getPriceCents())
+                .imageUrl(testMenuItem1.getImageUrl())
+                .type(testMenuItem1.getType())
+                .availabilityStatus("out_of_stock")
+                .build();
+
+        assertEquals(MenuContentHash.of(testMenuItem1), MenuContentHash.of(outOfStock));
+        outOfStock.setPriceCents(1600);
+        assertNotEquals(MenuContentHash.of(testMenuItem1), MenuContentHash.of(outOfStock));
+    }
+
+    @Test
+    @DisplayName("Should write an outbox event for every create and update")
+    void createAndUpdate_WriteOutboxEvents() {
+        // Given
+        when(menuRepository.existsByMerchantIdAndContentHash(eq(testMerchantId), anyString())).thenReturn(false);
+        when(menuRepository.save(any(Menu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(menuRepository.findById(2L)).thenReturn(Optional.of(testMenuItem2));
+
+        // When
+        menuService.createMenuItem(testMenuItem1);
+        Menu updates = new Menu();
+        updates.setAvailabilityStatus("out_of_stock");
+        menuService.updateMenuItem(testMerchantId, 2L, updates);
+
+        // Then
+        verify(menuOutboxRepository).save(argThat(event ->
+                MenuOutboxEvent.CREATED.equals(event.getChangeType()) && event.getMenuItemId() == 1L));
+        verify(menuOutboxRepository).save(argThat(event ->
+                MenuOutboxEvent.UPDATED.equals(event.getChangeType())
+                        && event.getMenuItemId() == 2L
+                        && "out_of_stock".equals(event.getAvailabilityStatus())));
+    }
+
+    @Test
+    @DisplayName("Should load only cache misses, with one query, when fetching several merchants")
+    void getRenderedMenus_LoadsMissesInOneQuery() {
+        // Given
+        Long otherMerchantId = 2L;
+        Long emptyMerchantId = 3L;
+        when(menuRepository.findByMerchantId(testMerchantId, false)).thenReturn(List.of(testMenuItem1));
+        menuService.getRenderedMenu(testMerchantId, false); // warm merchant 1
+        Menu otherItem = Menu.builder().menuItemId(7L).merchantId(otherMerchantId).name("Tea")
+                .priceCents(200).type("drink").availabilityStatus("available").build();
+        when(menuRepository.findByMerchantIdIn(List.of(otherMerchantId, emptyMerchantId), false))
+                .thenReturn(List.of(otherItem));
+
+        // When
+        Map<Long, RenderedMenu> menus = menuService.getRenderedMenus(
+                List.of(otherMerchantId, testMerchantId, emptyMerchantId, otherMerchantId), false);
+
+        // Then
+        assertEquals(List.of(otherMerchantId, testMerchantId, emptyMerchantId), new ArrayList<>(menus.keySet()));
+        assertEquals(1, menus.get(otherMerchantId).itemCount());
+        assertEquals(1, menus.get(testMerchantId).itemCount());
+        assertEquals(0, menus.get(emptyMerchantId).itemCount());
+        verify(menuRepository, times(1)).findByMerchantIdIn(anyList(), anyBoolean());
+
+        // Second call is served entirely from the cache
+        menuService.getRenderedMenus(List.of(otherMerchantId, testMerchantId, emptyMerchantId), false);
+        verify(menuRepository, times(1)).findByMerchantIdIn(anyList(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should page with the summary projection when only list fields are requested")
+    void getMenuPage_SummaryFields_UsesProjectionAndReturnsCursor() {
+        // Given
+        List<MenuItemSummary> summaries = List.of(summary(testMenuItem2), summary(testMenuItem1));
+        when(menuRepository.findFirstSummaryPage(testMerchantId, false, Limit.of(2))).thenReturn(summaries);
+
+        // When
+        MenuPageResponse page = menuService.getMenuPage(testMerchantId, false, null, 1, "menuItemId,name,priceCents");
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertEquals(Map.of("menuItemId", 2L, "name", "Coke", "priceCents", 300), page.getItems().get(0));
+        assertEquals(new MenuCursor("drink", "Coke", 2L), MenuCursor.decode(page.getNextCursor()));
+        verify(menuRepository, never()).findFirstPage(anyLong(), anyBoolean(), any());
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor and load full rows when description is requested")
+    void getMenuPage_AfterCursor_FullFields() {
+        // Given
+        String cursor = new MenuCursor("drink", "Coke", 2L).encode();
+        when(menuRepository.findPageAfter(testMerchantId, true, "drink", "Coke", 2L, Limit.of(51)))
+                .thenReturn(List.of(testMenuItem1, unavailableMenuItem));
+
+        // When
+        MenuPageResponse page = menuService.getMenuPage(testMerchantId, true, cursor, null, "name,description");
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertEquals("Delicious beef burger", page.getItems().get(0).get("description"));
+        assertFalse(page.getItems().get(0).containsKey("priceCents"));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should drop items outside their schedule from available-only pages and read on")
+    void getMenuPage_ClosedSchedule_SkipsItemAndFetchesNextPage() {
+        // Given: Coke's only window is on another day, so it is closed now
+        testMenuItem2.setAvailabilitySchedule(List.of(closedNow()));
+        List<MenuItemSummary> summaries = List.of(summary(testMenuItem2), summary(testMenuItem1));
+        when(menuRepository.findFirstSummaryPage(testMerchantId, false, Limit.of(2))).thenReturn(summaries);
+        when(menuRepository.findSummaryPageAfter(testMerchantId, false, "food", "Burger", 1L, Limit.of(2)))
+                .thenReturn(List.of());
+
+        // When
+        MenuPageResponse page = menuService.getMenuPage(testMerchantId, false, null, 1, "menuItemId,name");
+
+        // Then
+        assertEquals(List.of(Map.of("menuItemId", 1L, "name", "Burger")), page.getItems());
+        assertNull(page.getNextCursor());
+
+        // The full view keeps it
+        when(menuRepository.findFirstSummaryPage(testMerchantId, true, Limit.of(2))).thenReturn(summaries);
+        assertEquals(2L, menuService.getMenuPage(testMerchantId, true, null, 1, "menuItemId").getItems().get(0).get("menuItemId"));
+    }
+
+    /** A window three days from today, so closed whatever the time. */
+    private static AvailabilityWindow closedNow() {
+        java.time.DayOfWeek day = java.time.LocalDate.now(AvailabilitySchedule.ZONE).getDayOfWeek().plus(3);
+        return new AvailabilityWindow(List.of(day.name().substring(0, 3)), "00:00", "01:00");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields, bad cursors and out-of-range limits")
+    void getMenuPage_InvalidParameters_ThrowBadRequest() {
+        assertThrows(ResponseStatusException.class,
+                () -> menuService.getMenuPage(testMerchantId, false, null, null, "name,secret"));
+        assertThrows(ResponseStatusException.class,
+                () -> menuService.getMenuPage(testMerchantId, false, "not-a-cursor", null, null));
+        assertThrows(ResponseStatusException.class,
+                () -> menuService.getMenuPage(testMerchantId, false, null, 500, null));
+        verifyNoInteractions(menuRepository);
+    }
+
+    private static MenuItemSummary summary(Menu item) {
+        MenuItemSummary summary = mock(MenuItemSummary.class);
+        when(summary.getMenuItemId()).thenReturn(item.getMenuItemId());
+        when(summary.getMerchantId()).thenReturn(item.getMerchantId());
+        when(summary.getName()).thenReturn(item.getName());
+        when(summary.getPriceCents()).thenReturn(item.getPriceCents());
+        when(summary.getType()).thenReturn(item.getType());
+        when(summary.getAvailabilityStatus()).thenReturn(item.getAvailabilityStatus());
+        when(summary.getAvailabilitySchedule()).thenReturn(item.getAvailabilitySchedule());
+        return summary;
+    }
+
+    @Test
+    @DisplayName("Should append a price version only when the price changes")
+    void updateMenuItem_PriceChange_AppendsPriceVersion() {
+        // Given
+        testMenuItem1.setPriceVersion(1);
+        when(menuRepository.findById(1L)).thenReturn(Optional.of(testMenuItem1));
+        when(menuRepository.save(any(Menu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Menu samePrice = new Menu();
+        samePrice.setPriceCents(1500);
+        samePrice.setDescription("Now with cheese");
+        menuService.updateMenuItem(testMerchantId, 1L, samePrice);
+        Menu newPrice = new Menu();
+        newPrice.setPriceCents(1600);
+        Menu result = menuService.updateMenuItem(testMerchantId, 1L, newPrice);
+
+        // Then
+        assertEquals(2, result.getPriceVersion());
+        verify(menuItemPriceRepository, times(1)).save(argThat((MenuItemPrice price) ->
+                price.getVersion() == 2 && price.getPriceCents() == 1600 && price.getMenuItemId() == 1L));
+    }
+
+    @Test
+    @DisplayName("Should mark several items sold out with one UPDATE and one cache invalidation")
+    void updateAvailability_ByIds_UpdatesOnlyChangedItems() {
+        // Given
+        List<Long> itemIds = List.of(1L, 3L);
+        when(menuRepository.lockAvailabilityByIds(testMerchantId, itemIds))
+                .thenReturn(List.of(availability(1L, "available"), availability(3L, "out_of_stock")));
+
+        // When
+        AvailabilityUpdateResult result = menuService.updateAvailability(testMerchantId,
+                new AvailabilityUpdateRequest(itemIds, null, "out_of_stock"));
+
+        // Then
+        assertEquals(List.of(1L), result.getUpdated());
+        assertEquals(List.of(3L), result.getUnchanged());
+        verify(menuRepository, times(1)).updateAvailability(List.of(1L), "out_of_stock");
+        verify(menuOutboxRepository, times(1)).insertUpdated(List.of(1L));
+        verify(menuCache, times(1)).invalidate(testMerchantId);
+        verify(menuSearchIndex).setAvailable(List.of(1L), false);
+        verify(menuRepository, never()).save(any(Menu.class));
+    }
+
+    @Test
+    @DisplayName("Should select items by type for bulk availability changes")
+    void updateAvailability_ByType_Success() {
+        // Given
+        when(menuRepository.lockAvailabilityByType(testMerchantId, "food"))
+                .thenReturn(List.of(availability(1L, "out_of_stock"), availability(3L, "out_of_stock")));
+
+        // When
+        AvailabilityUpdateResult result = menuService.updateAvailability(testMerchantId,
+                new AvailabilityUpdateRequest(null, "food", "available"));
+
+        // Then
+        assertEquals(List.of(1L, 3L), result.getUpdated());
+        verify(menuRepository).updateAvailability(List.of(1L, 3L), "available");
+        verify(menuSearchIndex).setAvailable(List.of(1L, 3L), true);
+    }
+
+    @Test
+    @DisplayName("Should not write anything when an id is unknown or belongs to another merchant")
+    void updateAvailability_UnknownId_ThrowsNotFound() {
+        // Given
+        List<Long> itemIds = List.of(1L, 999L);
+        when(menuRepository.lockAvailabilityByIds(testMerchantId, itemIds))
+                .thenReturn(List.of(availability(1L, "available")));
+
+        // When & Then
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> menuService.updateAvailability(testMerchantId,
+                        new AvailabilityUpdateRequest(itemIds, null, "out_of_stock")));
+        assertTrue(exception.getMessage().contains("999"));
+        verify(menuRepository, never()).updateAvailability(anyList(), anyString());
+        verify(menuCache, never()).invalidate(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject requests with both ids and type, or an unknown status")
+    void updateAvailability_InvalidRequest_ThrowsBadRequest() {
+        ResponseStatusException both = assertThrows(ResponseStatusException.class,
+                () -> menuService.updateAvailability(testMerchantId,
+                        new AvailabilityUpdateRequest(List.of(1L), "food", "available")));
+        assertEquals(HttpStatus.BAD_REQUEST, both.getStatusCode());
+
+        ResponseStatusException status = assertThrows(ResponseStatusException.class,
+                () -> menuService.updateAvailability(testMerchantId,
+                        new AvailabilityUpdateRequest(List.of(1L), null, "sold_out")));
+        assertEquals(HttpStatus.BAD_REQUEST, status.getStatusCode());
+        verifyNoInteractions(menuRepository);
+    }
+
+    private static MenuItemAvailability availability(Long menuItemId, String availabilityStatus) {
+        return new MenuItemAvailability() {
+            @Override
+            public Long getMenuItemId() {
+                return menuItemId;
+            }
+
+            @Override
+            public String getAvailabilityStatus() {
+                return availabilityStatus;
+            }
+        };
+    }
+
     @Test
     @DisplayName("Should return menu item by ID")
     void getMenuItemById_Success() {
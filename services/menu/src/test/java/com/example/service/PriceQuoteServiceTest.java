@@ -0,0 +1,109 @@
+package com.example.service;
+
+import com.example.dto.PriceQuoteRequest;
+import com.example.dto.PriceQuoteRequest.MerchantItems;
+import com.example.dto.PriceQuoteResponse;
+import com.example.exception.NotFoundException;
+import com.example.model.Menu;
+import com.example.repository.MenuRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PriceQuoteService Unit Tests")
+class PriceQuoteServiceTest {
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    @Spy
+    private MenuCache menuCache = new MenuCache(new SimpleMeterRegistry(), new ObjectMapper(), 1_000_000L, 1024);
+
+    @InjectMocks
+    private PriceQuoteService priceQuoteService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(menuRepository.findByMerchantId(1L, true)).thenReturn(List.of(
+                item(10L, 1L, "Chicken Rice", 550, "available"),
+                item(11L, 1L, "Duck Rice", 600, "out_of_stock")));
+        lenient().when(menuRepository.findByMerchantId(2L, true)).thenReturn(List.of(
+                item(20L, 2L, "Iced Milo", 300, "available")));
+    }
+
+    @Test
+    @DisplayName("Should quote items from several merchants in one call")
+    void quote_MultipleMerchants_Success() {
+        PriceQuoteRequest request = new PriceQuoteRequest(List.of(
+                new MerchantItems(1L, List.of(11L, 10L)),
+                new MerchantItems(2L, List.of(20L))));
+
+        PriceQuoteResponse response = priceQuoteService.quote(request);
+
+        assertEquals(2, response.getMerchants().size());
+        List<PriceQuoteResponse.ItemQuote> first = response.getMerchants().get(0).getItems();
+        assertEquals(11L, first.get(0).getItemId()); // request order is kept
+        assertEquals(600, first.get(0).getPriceCents());
+        assertFalse(first.get(0).isAvailable());
+        assertEquals("Chicken Rice", first.get(1).getName());
+        assertTrue(first.get(1).isAvailable());
+        assertEquals(300, response.getMerchants().get(1).getItems().get(0).getPriceCents());
+    }
+
+    @Test
+    @DisplayName("Should load each merchant's menu once and answer later quotes from memory")
+    void quote_RepeatedCalls_UseCachedIndex() {
+        PriceQuoteRequest request = new PriceQuoteRequest(List.of(new MerchantItems(1L, List.of(10L))));
+
+        priceQuoteService.quote(request);
+        priceQuoteService.quote(request);
+
+        verify(menuRepository, times(1)).findByMerchantId(1L, true);
+    }
+
+    @Test
+    @DisplayName("Should list every missing item per merchant")
+    void quote_MissingItems_ThrowsNotFound() {
+        PriceQuoteRequest request = new PriceQuoteRequest(List.of(
+                new MerchantItems(1L, List.of(10L, 99L)),
+                new MerchantItems(2L, List.of(21L))));
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> priceQuoteService.quote(request));
+
+        assertTrue(exception.getMessage().contains("[99] for merchantId=1"));
+        assertTrue(exception.getMessage().contains("[21] for merchantId=2"));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch")
+    void quote_Empty_ThrowsBadRequest() {
+        assertThrows(ResponseStatusException.class,
+                () -> priceQuoteService.quote(new PriceQuoteRequest(List.of())));
+    }
+
+    private static Menu item(Long id, Long merchantId, String name, int priceCents, String status) {
+        return Menu.builder()
+                .menuItemId(id)
+                .merchantId(merchantId)
+                .name(name)
+                .priceCents(priceCents)
+                .type("food")
+                .availabilityStatus(status)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * With {@code merchant.datasource.replica.enabled=true}, read-only transactions
+ * read from {@code merchant.datasource.replica.url} and everything else from
+ * {@code spring.datasource.url}. The lazy proxy only fetches a connection at
+ * the first statement, when the transaction's read-only flag is known, so a
+ * transaction that never touches the database takes no connection at all.
+ *
+ * The replica pool starts as a copy of the primary pool's settings. The proxy
+ * only calls setAutoCommit when a transaction wants something other than the
+ * primary's default, so a replica pool with a different auto-commit would hand
+ * JPA connections it cannot commit.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = ReadReplicaConfig.PREFIX, name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    static final String SERVICE = "merchant";
+    static final String PREFIX = SERVICE + ".datasource.replica";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(SERVICE + "-primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaDataSource readReplicaDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        HikariDataSource replica = replicaPool(primaryDataSource, environment);
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        long maxLagMs = environment.getProperty(PREFIX + ".max-lag-ms", Long.class, 5000L);
+        return new ReadReplicaDataSource(primaryDataSource, replica, maxLagMs, meterRegistry);
+    }
+
+    @Bean
+    public SchedulingConfigurer readReplicaCheck(ReadReplicaDataSource readReplicaDataSource, Environment environment) {
+        Duration interval = Duration.ofMillis(environment.getProperty(PREFIX + ".check-interval-ms", Long.class, 5000L));
+        return registrar -> registrar.addFixedDelayTask(readReplicaDataSource::checkReplica, interval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReadReplicaDataSource readReplicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readReplicaDataSource);
+        return dataSource;
+    }
+
+    /** The primary's pool settings with the replica's URL and credentials, overridable under {@code PREFIX.hikari}. */
+    static HikariDataSource replicaPool(HikariDataSource primary, Environment environment) {
+        HikariDataSource replica = new HikariDataSource();
+        primary.copyStateTo(replica);
+        replica.setJdbcUrl(environment.getRequiredProperty(PREFIX + ".url"));
+        replica.setUsername(environment.getProperty(PREFIX + ".username", primary.getUsername()));
+        replica.setPassword(environment.getProperty(PREFIX + ".password", primary.getPassword()));
+        replica.setPoolName(SERVICE + "-replica");
+        replica.setConnectionTimeout(1000); // fail over to the primary quickly
+        Binder.get(environment).bind(PREFIX + ".hikari", Bindable.ofInstance(replica));
+        replica.setInitializationFailTimeout(-1); // a missing replica must not stop startup
+        return replica;
+    }
+}
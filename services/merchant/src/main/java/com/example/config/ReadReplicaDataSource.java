@@ -0,0 +1,157 @@
+package com.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+
+/**
+ * Connections for read-only transactions. They come from the replica pool
+ * while the replica answers and is no more than {@code maxLagMs} behind, and
+ * from the primary otherwise, so a lagging or dead replica costs freshness
+ * checks, not failed requests.
+ *
+ * Replica state is refreshed by {@link #checkReplica()}, which the service's
+ * ReadReplicaConfig schedules; a failed connection attempt marks the replica
+ * down until the next successful check. Nothing here is service-specific.
+ */
+public class ReadReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    // 0 when the replica has replayed everything it received (an idle primary
+    // would otherwise look like growing lag) or is not a standby at all, and
+    // DISCONNECTED when its WAL receiver is not running: it has then replayed
+    // everything it received, but has no way of knowing how far behind it is.
+    // pg_stat_wal_receiver only has a row while the receiver runs, and that
+    // row is visible without extra privileges.
+    private static final String LAG_SQL = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver) THEN -1
+            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+        END
+        """;
+    private static final long DISCONNECTED = -1;
+
+    private final DataSource primary;
+    private final HikariDataSource replica;
+    private final long maxLagMs;
+
+    private volatile boolean reachable = true;
+    private volatile boolean streaming = true;
+    private volatile long lagMs;
+
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private final Counter lagFallbacks;
+    private final Counter disconnectedFallbacks;
+    private final Counter errorFallbacks;
+
+    public ReadReplicaDataSource(DataSource primary, HikariDataSource replica, long maxLagMs,
+                                 MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        this.replicaReads = reads(meterRegistry, "replica");
+        this.primaryReads = reads(meterRegistry, "primary");
+        this.lagFallbacks = fallbacks(meterRegistry, "lag");
+        this.disconnectedFallbacks = fallbacks(meterRegistry, "disconnected");
+        this.errorFallbacks = fallbacks(meterRegistry, "error");
+        Gauge.builder("datasource.replica.lag", this, ds -> ds.lagMs)
+                .description("Replication lag of the read replica at the last check")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.available", this, ds -> ds.isUsable() ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!reachable) {
+            return fallback(errorFallbacks);
+        }
+        if (!streaming) {
+            return fallback(disconnectedFallbacks);
+        }
+        if (lagMs > maxLagMs) {
+            return fallback(lagFallbacks);
+        }
+        try {
+            Connection connection = replica.getConnection();
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException e) {
+            reachable = false;
+            System.out.println("Read replica unavailable, reading from primary: " + e.getMessage());
+            return fallback(errorFallbacks);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Read replica routing uses the configured credentials");
+    }
+
+    public void checkReplica() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SQL)) {
+            rs.next();
+            long lag = rs.getLong(1);
+            boolean wasUsable = reachable && streaming;
+            streaming = lag != DISCONNECTED;
+            lagMs = streaming ? lag : 0;
+            reachable = true;
+            if (!streaming && wasUsable) {
+                System.out.println("Read replica is not receiving WAL from the primary, reading from primary");
+            } else if (streaming && !wasUsable) {
+                System.out.println("Read replica reachable again, lag " + lagMs + " ms");
+            }
+        } catch (SQLException e) {
+            if (reachable) {
+                System.out.println("Read replica check failed: " + e.getMessage());
+            }
+            reachable = false;
+        }
+    }
+
+    public boolean isUsable() {
+        return reachable && streaming && lagMs <= maxLagMs;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+    }
+
+    private Connection fallback(Counter reason) throws SQLException {
+        reason.increment();
+        Connection connection = primary.getConnection();
+        primaryReads.increment();
+        return connection;
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("datasource.reads")
+                .description("Connections handed to read-only transactions, by pool")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    private static Counter fallbacks(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only transactions sent to the primary instead of the replica")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.controller;
 
 import com.example.model.Merchant;
+import com.example.repository.MerchantFilter;
+import com.example.repository.MerchantSummary;
+import com.example.service.MerchantCursor;
 import com.example.service.MerchantService;
 import com.example.dto.CreateMerchantRequest;
 import com.example.dto.UpdateMerchantRequest;
+import com.example.dto.MerchantNodeResponse;
+import com.example.dto.MerchantPageResponse;
 import com.example.dto.MerchantResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -25,29 +30,46 @@ public class MerchantController {
 
     /**
      * GET /api/merchants
-     * Returns all merchants. You may want to add pagination later.
+     * Without paging or filter params, returns the whole list (all, top-level or children by parentId).
+     * With limit, cursor, location, payoutFrequency or hasChildren, returns one keyset page
+     * {items, nextCursor, estimatedTotal} in merchantId order.
+     * Rows come from one projection query each, never from lazy-loaded entities.
      */
     @GetMapping
-    public ResponseEntity<List<MerchantResponse>> getAllMerchants(
-            @RequestParam(required = false) String parentId) {
+    public ResponseEntity<?> getAllMerchants(
+            @RequestParam(required = false) String parentId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String payoutFrequency,
+            @RequestParam(required = false) Boolean hasChildren) {
+
+        Long parentIdLong = null;
+        if (parentId != null && !parentId.equalsIgnoreCase("null")) {
+            try {
+                parentIdLong = Long.valueOf(parentId);
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        if (limit != null || cursor != null || location != null || payoutFrequency != null || hasChildren != null) {
+            boolean topLevel = parentId != null && parentIdLong == null;
+            MerchantFilter filter = new MerchantFilter(topLevel, parentIdLong, location, payoutFrequency, hasChildren);
+            return getMerchantPage(filter, limit, cursor);
+        }
 
-        List<Merchant> merchants;
+        List<MerchantSummary> merchants;
 
         if (parentId == null) {
             // Case 1: no query param → return all merchants
-            merchants = merchantService.getAllMerchants();
-        } else if (parentId.equalsIgnoreCase("null")) {
+            merchants = merchantService.getAllMerchantSummaries();
+        } else if (parentIdLong == null) {
             // Case 3: parentId=null → return top-level merchants
-            merchants = merchantService.getTopLevelMerchants();
+            merchants = merchantService.getTopLevelMerchantSummaries();
         } else {
             // Case 2: parentId=<number> → return children
-            Long parentIdLong;
-            try {
-                parentIdLong = Long.valueOf(parentId);
-            } catch (NumberFormatException e) {
-                return ResponseEntity.badRequest().build();
-            }
-            merchants = merchantService.getMerchantsByParentId(parentIdLong);
+            merchants = merchantService.getChildMerchantSummaries(parentIdLong);
         }
 
         List<MerchantResponse> responses = merchants.stream()
@@ -57,7 +79,30 @@ public class MerchantController {
         return ResponseEntity.ok(responses);
     }
 
+    private ResponseEntity<MerchantPageResponse> getMerchantPage(MerchantFilter filter, Integer limit, String cursor) {
+        int size = limit == null ? MerchantService.DEFAULT_PAGE_SIZE : limit;
+        if (size < 1 || size > MerchantService.MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long afterId;
+        try {
+            afterId = cursor == null ? null : MerchantCursor.decode(cursor).merchantId();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Fetch one extra row to know whether another page follows
+        List<MerchantSummary> rows = merchantService.getMerchantPage(filter, afterId, size + 1);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = new MerchantCursor(rows.get(size - 1).getMerchantId()).encode();
+        }
+        Long estimatedTotal = cursor == null ? merchantService.estimateMerchantCount(filter) : null;
 
+        List<MerchantResponse> items = rows.stream().map(this::toResponse).collect(Collectors.toList());
+        return ResponseEntity.ok(new MerchantPageResponse(items, nextCursor, estimatedTotal));
+    }
 
     /**
      * GET /api/merchants/{id}
@@ -65,11 +110,48 @@ public class MerchantController {
     @GetMapping("/{id}")
     public ResponseEntity<MerchantResponse> getMerchant(@PathVariable("id") Long id) {
         Merchant m = merchantService.getMerchantById(id);
-        MerchantResponse resp = toResponseWithHasChildren(m);
+        MerchantResponse resp = toResponse(m);
         return ResponseEntity.ok(resp);
     }
 
 
+    /**
+     * GET /api/merchants/{id}/subtree
+     * The merchant with all its descendants nested under it, read with one recursive query.
+     * depth limits how many levels below the merchant are returned (default and maximum:
+     * merchant.hierarchy.max-depth - 1). Nodes whose children were cut off are marked truncated.
+     */
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<MerchantNodeResponse> getSubtree(@PathVariable("id") Long id,
+                                                           @RequestParam(required = false) Integer depth) {
+        int maxDepth = merchantService.getMaxHierarchyDepth() - 1;
+        if (depth != null && (depth < 0 || depth > maxDepth)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<MerchantSummary> rows = merchantService.getSubtree(id, depth == null ? maxDepth : depth);
+
+        // Rows arrive parents first, so every parent is in the map before its children
+        Map<Long, MerchantNodeResponse> nodes = new HashMap<>();
+        MerchantNodeResponse root = null;
+        for (MerchantSummary row : rows) {
+            if (nodes.containsKey(row.getMerchantId())) {
+                continue;
+            }
+            MerchantNodeResponse node = toNode(row);
+            nodes.put(row.getMerchantId(), node);
+            if (root == null) {
+                root = node;
+            } else {
+                nodes.get(row.getParentMerchantId()).getChildren().add(node);
+            }
+        }
+        // Nodes at the depth limit have children that were not read
+        for (MerchantNodeResponse node : nodes.values()) {
+            node.setTruncated(Boolean.TRUE.equals(node.getHasChildren()) && node.getChildren().isEmpty());
+        }
+        return ResponseEntity.ok(root);
+    }
+
     /**
      * POST /api/merchants
      * Create merchant
@@ -116,7 +198,7 @@ public class MerchantController {
         }
 
         Merchant updated = merchantService.updateMerchantPartial(id, updates);
-        MerchantResponse resp = toResponseWithHasChildren(updated);
+        MerchantResponse resp = toResponse(updated);
         return ResponseEntity.ok(resp);
     }
 
@@ -132,15 +214,30 @@ public class MerchantController {
         resp.setPayoutFrequency(m.getPayoutFrequency());
         resp.setEmail(m.getEmail());
         resp.setParentMerchantId(m.getParentMerchant() != null ? m.getParentMerchant().getMerchantId() : null);
-        resp.setHasChildren(null); // left null — use other method if you want it computed
+        resp.setHasChildren(merchantService.merchantHasChildren(m.getMerchantId()));
+        resp.setChildCount(merchantService.merchantChildCount(m.getMerchantId()));
         return resp;
     }
 
-    private MerchantResponse toResponseWithHasChildren(Merchant m) {
-        MerchantResponse resp = toResponse(m);
-        Long id = m.getMerchantId();
-        boolean hasChildren = merchantService.merchantHasChildren(id);
-        resp.setHasChildren(hasChildren);
+    private MerchantResponse toResponse(MerchantSummary m) {
+        return copySummary(m, new MerchantResponse());
+    }
+
+    private MerchantNodeResponse toNode(MerchantSummary m) {
+        return copySummary(m, new MerchantNodeResponse());
+    }
+
+    private <T extends MerchantResponse> T copySummary(MerchantSummary m, T resp) {
+        resp.setMerchantId(m.getMerchantId());
+        resp.setName(m.getName());
+        resp.setLocation(m.getLocation());
+        resp.setContactNumber(m.getContactNumber());
+        resp.setImageUrl(m.getImageUrl());
+        resp.setPayoutFrequency(m.getPayoutFrequency());
+        resp.setEmail(m.getEmail());
+        resp.setParentMerchantId(m.getParentMerchantId());
+        resp.setHasChildren(m.getChildCount() > 0);
+        resp.setChildCount(m.getChildCount().intValue());
         return resp;
     }
 }
@@ -0,0 +1,18 @@
+package com.example.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A merchant with its descendants nested under it. truncated is set on nodes
+ * at the depth limit whose children were not returned.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class MerchantNodeResponse extends MerchantResponse {
+    private List<MerchantNodeResponse> children = new ArrayList<>();
+    private boolean truncated;
+}
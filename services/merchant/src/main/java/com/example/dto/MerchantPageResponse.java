@@ -0,0 +1,16 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerchantPageResponse {
+    private List<MerchantResponse> items;
+    private String nextCursor;    // null on the last page
+    private Long estimatedTotal;  // first page only; null when no estimate is available
+}
@@ -13,4 +13,5 @@ public class MerchantResponse {
     private String email;
     private Long parentMerchantId;
     private Boolean hasChildren; // computed by controller/service
+    private Integer childCount;
 }
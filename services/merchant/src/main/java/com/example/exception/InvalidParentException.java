@@ -0,0 +1,8 @@
+package com.example.exception;
+
+public class InvalidParentException extends RuntimeException {
+    public InvalidParentException(Long merchantId, Long parentId, String reason) {
+        super(String.format("Merchant %s cannot have parent %s: %s",
+                merchantId == null ? "(new)" : merchantId.toString(), parentId, reason));
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.model;
 
+import com.example.service.MerchantTreeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@EntityListeners(MerchantTreeListener.class)
 @Table(name = "merchants",
        uniqueConstraints = {
            @UniqueConstraint(name = "uc_merchant_email", columnNames = {"email"})
+       },
+       indexes = {
+           @Index(name = "idx_merchants_parent", columnList = "parent_merchant_id"),
+           @Index(name = "idx_merchants_payout", columnList = "payout_frequency, merchant_id")
        })
 @Getter
 @Setter
@@ -0,0 +1,18 @@
+package com.example.repository;
+
+/**
+ * Filters for a merchant list page. Null fields do not filter. topLevel
+ * selects merchants without a parent; parentId selects one merchant's children.
+ */
+public record MerchantFilter(boolean topLevel,
+                             Long parentId,
+                             String locationPrefix,
+                             String payoutFrequency,
+                             Boolean hasChildren) {
+
+    public static final MerchantFilter NONE = new MerchantFilter(false, null, null, null, null);
+
+    public boolean isEmpty() {
+        return equals(NONE);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.repository;
+
+/** A merchant's id and its parent's id (null for top-level merchants). */
+public interface MerchantParent {
+
+    Long getMerchantId();
+
+    Long getParentMerchantId();
+}
@@ -9,7 +9,24 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MerchantRepository extends JpaRepository<Merchant, Long> {
+public interface MerchantRepository extends JpaRepository<Merchant, Long>, MerchantRepositoryCustom {
+
+    // List rows: parent id read from the FK column, child count from a subquery on
+    // idx_merchants_parent, so a whole list is one statement with no lazy loads
+    String SUMMARY_SELECT = "SELECT m.merchantId AS merchantId, m.name AS name, m.location AS location, "
+            + "m.contactNumber AS contactNumber, m.imageUrl AS imageUrl, m.payoutFrequency AS payoutFrequency, "
+            + "m.email AS email, m.parentMerchant.merchantId AS parentMerchantId, "
+            + "(SELECT COUNT(c) FROM Merchant c WHERE c.parentMerchant.merchantId = m.merchantId) AS childCount "
+            + "FROM Merchant m ";
+
+    @Query(SUMMARY_SELECT + "ORDER BY m.merchantId ASC")
+    List<MerchantSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE m.parentMerchant IS NULL ORDER BY m.merchantId ASC")
+    List<MerchantSummary> findTopLevelSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE m.parentMerchant.merchantId = :parentId ORDER BY m.merchantId ASC")
+    List<MerchantSummary> findChildSummariesByParentId(Long parentId);
 
     Optional<Merchant> findByEmail(String email);
 
@@ -21,10 +38,65 @@ public interface MerchantRepository extends JpaRepository<Merchant, Long> {
     @Query("SELECT m FROM Merchant m WHERE m.parentMerchant.merchantId = :parentId ORDER BY m.merchantId ASC")
     List<Merchant> findChildrenByParentId(Long parentId);
 
+    // A merchant and its descendants down to maxDepth levels below it, parents before children.
+    // The depth bound also stops the recursion if the data ever contains a cycle.
+    @Query(value = """
+            WITH RECURSIVE subtree (merchant_id, depth) AS (
+                SELECT merchant_id, 0 FROM merchants WHERE merchant_id = :rootId
+                UNION ALL
+                SELECT c.merchant_id, s.depth + 1
+                FROM merchants c JOIN subtree s ON c.parent_merchant_id = s.merchant_id
+                WHERE s.depth < :maxDepth
+            )
+            SELECT m.merchant_id AS "merchantId", m.name AS "name", m.location AS "location",
+                   m.contact_number AS "contactNumber", m.image_url AS "imageUrl",
+                   m.payout_frequency AS "payoutFrequency", m.email AS "email",
+                   m.parent_merchant_id AS "parentMerchantId",
+                   (SELECT COUNT(*) FROM merchants c WHERE c.parent_merchant_id = m.merchant_id) AS "childCount"
+            FROM subtree s JOIN merchants m ON m.merchant_id = s.merchant_id
+            ORDER BY s.depth, m.merchant_id
+            """, nativeQuery = true)
+    List<MerchantSummary> findSubtree(Long rootId, int maxDepth);
+
+    // Serializes changes to the hierarchy: held until the calling transaction ends
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('merchants.hierarchy'))", nativeQuery = true)
+    int lockHierarchy();
+
+    // A merchant followed by its ancestors, nearest first, at most limit rows.
+    // The limit also stops the recursion if the data ever contains a cycle.
+    @Query(value = """
+            WITH RECURSIVE ancestors (merchant_id, parent_merchant_id, level) AS (
+                SELECT merchant_id, parent_merchant_id, 1 FROM merchants WHERE merchant_id = :merchantId
+                UNION ALL
+                SELECT p.merchant_id, p.parent_merchant_id, a.level + 1
+                FROM merchants p JOIN ancestors a ON p.merchant_id = a.parent_merchant_id
+                WHERE a.level < :limit
+            )
+            SELECT merchant_id FROM ancestors ORDER BY level
+            """, nativeQuery = true)
+    List<Long> findAncestorIds(Long merchantId, int limit);
+
+    // Levels below a merchant, counting no further than limit
+    @Query(value = """
+            WITH RECURSIVE subtree (merchant_id, depth) AS (
+                SELECT merchant_id, 0 FROM merchants WHERE merchant_id = :merchantId
+                UNION ALL
+                SELECT c.merchant_id, s.depth + 1
+                FROM merchants c JOIN subtree s ON c.parent_merchant_id = s.merchant_id
+                WHERE s.depth < :limit
+            )
+            SELECT COALESCE(MAX(depth), 0) FROM subtree
+            """, nativeQuery = true)
+    int findSubtreeHeight(Long merchantId, int limit);
+
     boolean existsByNameAndLocationAndContactNumberAndImageUrlAndPayoutFrequencyAndEmail(
             String name, String location, String contactNumber, String imageUrl, String payoutFrequency, String email
     );
 
+    // Whole hierarchy as (id, parent id) pairs, for MerchantTree
+    @Query("SELECT m.merchantId AS merchantId, p.merchantId AS parentMerchantId FROM Merchant m LEFT JOIN m.parentMerchant p")
+    List<MerchantParent> findAllParentIds();
+
     @Query("SELECT CASE WHEN (COUNT(c) > 0) THEN true ELSE false END FROM Merchant c WHERE c.parentMerchant.merchantId = :parentId")
     boolean hasChildren(Long parentId);
 }
@@ -0,0 +1,18 @@
+package com.example.repository;
+
+import java.util.List;
+
+public interface MerchantRepositoryCustom {
+
+    /**
+     * Up to {@code limit} merchants matching {@code filter} with an id above
+     * {@code afterId} (null for the first page), ascending by id.
+     */
+    List<MerchantSummary> findPage(MerchantFilter filter, Long afterId, int limit);
+
+    /**
+     * The planner's row estimate for {@code filter}, or null when the database
+     * does not report one. Costs a plan, not a scan.
+     */
+    Long estimateCount(MerchantFilter filter);
+}
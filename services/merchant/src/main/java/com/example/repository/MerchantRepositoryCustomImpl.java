@@ -0,0 +1,146 @@
+package com.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the list page SQL from only the filters that are set, so each
+ * combination gets a plan on its own index: merchant_id for the cursor,
+ * idx_merchants_payout, idx_merchants_location_prefix and, for hasChildren,
+ * an EXISTS on idx_merchants_parent.
+ */
+public class MerchantRepositoryCustomImpl implements MerchantRepositoryCustom {
+
+    private static final String SELECT = """
+            SELECT m.merchant_id AS "merchantId", m.name AS "name", m.location AS "location",
+                   m.contact_number AS "contactNumber", m.image_url AS "imageUrl",
+                   m.payout_frequency AS "payoutFrequency", m.email AS "email",
+                   m.parent_merchant_id AS "parentMerchantId",
+                   (SELECT COUNT(*) FROM merchants c WHERE c.parent_merchant_id = m.merchant_id) AS "childCount"
+            FROM merchants m
+            """;
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public MerchantRepositoryCustomImpl(EntityManager entityManager, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<MerchantSummary> findPage(MerchantFilter filter, Long afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder sql = new StringBuilder(SELECT).append(where(filter, params));
+        if (afterId != null) {
+            sql.append(" AND m.merchant_id > :afterId");
+            params.put("afterId", afterId);
+        }
+        sql.append(" ORDER BY m.merchant_id");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Tuple.class).setMaxResults(limit);
+        params.forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = query.getResultList();
+        return rows.stream().<MerchantSummary>map(TupleSummary::new).toList();
+    }
+
+    @Override
+    public Long estimateCount(MerchantFilter filter) {
+        Map<String, Object> params = new HashMap<>();
+        String sql = "EXPLAIN SELECT 1 FROM merchants m" + where(filter, params);
+        List<String> plan = jdbcTemplate.queryForList(sql, params, String.class);
+        Matcher rows = plan.isEmpty() ? null : PLAN_ROWS.matcher(plan.get(0));
+        return rows != null && rows.find() ? Long.valueOf(rows.group(1)) : null;
+    }
+
+    private static String where(MerchantFilter filter, Map<String, Object> params) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (filter.topLevel()) {
+            where.append(" AND m.parent_merchant_id IS NULL");
+        } else if (filter.parentId() != null) {
+            where.append(" AND m.parent_merchant_id = :parentId");
+            params.put("parentId", filter.parentId());
+        }
+        if (filter.locationPrefix() != null) {
+            where.append(" AND m.location LIKE :location ESCAPE '\\'");
+            params.put("location", escapeLike(filter.locationPrefix()) + "%");
+        }
+        if (filter.payoutFrequency() != null) {
+            where.append(" AND m.payout_frequency = :payoutFrequency");
+            params.put("payoutFrequency", filter.payoutFrequency());
+        }
+        if (filter.hasChildren() != null) {
+            where.append(filter.hasChildren() ? " AND EXISTS" : " AND NOT EXISTS")
+                    .append(" (SELECT 1 FROM merchants c WHERE c.parent_merchant_id = m.merchant_id)");
+        }
+        return where.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private record TupleSummary(Tuple row) implements MerchantSummary {
+
+        @Override
+        public Long getMerchantId() {
+            return number("merchantId");
+        }
+
+        @Override
+        public String getName() {
+            return row.get("name", String.class);
+        }
+
+        @Override
+        public String getLocation() {
+            return row.get("location", String.class);
+        }
+
+        @Override
+        public String getContactNumber() {
+            return row.get("contactNumber", String.class);
+        }
+
+        @Override
+        public String getImageUrl() {
+            return row.get("imageUrl", String.class);
+        }
+
+        @Override
+        public String getPayoutFrequency() {
+            return row.get("payoutFrequency", String.class);
+        }
+
+        @Override
+        public String getEmail() {
+            return row.get("email", String.class);
+        }
+
+        @Override
+        public Long getParentMerchantId() {
+            return number("parentMerchantId");
+        }
+
+        @Override
+        public Long getChildCount() {
+            return number("childCount");
+        }
+
+        private Long number(String alias) {
+            Number value = (Number) row.get(alias);
+            return value == null ? null : value.longValue();
+        }
+    }
+}
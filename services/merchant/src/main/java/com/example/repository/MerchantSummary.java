@@ -0,0 +1,23 @@
+package com.example.repository;
+
+/** The columns of a merchant list row, plus its number of direct children. */
+public interface MerchantSummary {
+
+    Long getMerchantId();
+
+    String getName();
+
+    String getLocation();
+
+    String getContactNumber();
+
+    String getImageUrl();
+
+    String getPayoutFrequency();
+
+    String getEmail();
+
+    Long getParentMerchantId();
+
+    Long getChildCount();
+}
@@ -0,0 +1,22 @@
+package com.example.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last merchant of a list page, which is ordered by
+ * merchantId. Sent to clients as an opaque base64url string.
+ */
+public record MerchantCursor(long merchantId) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(merchantId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException when the cursor was not produced by {@link #encode()} */
+    public static MerchantCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        return new MerchantCursor(Long.parseLong(raw)); // NumberFormatException is an IllegalArgumentException
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.service;
 
 import com.example.model.Merchant;
+import com.example.repository.MerchantFilter;
 import com.example.repository.MerchantRepository;
+import com.example.repository.MerchantSummary;
 import com.example.exception.DuplicateException;
+import com.example.exception.InvalidParentException;
 import com.example.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,7 +18,11 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class MerchantService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final MerchantRepository merchantRepository;
+    private final MerchantTree merchantTree;
 
     /**
      * Returns all merchants (unspecified whether top-level only or all – here we return all).
@@ -45,6 +52,65 @@ public class MerchantService {
         }
     }
 
+    /**
+     * List rows for all merchants, top-level merchants (parentId "null") or the
+     * children of one merchant, each fetched with a single query.
+     */
+    @Transactional(readOnly = true)
+    public List<MerchantSummary> getAllMerchantSummaries() {
+        return merchantRepository.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public List<MerchantSummary> getTopLevelMerchantSummaries() {
+        return merchantRepository.findTopLevelSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public List<MerchantSummary> getChildMerchantSummaries(Long parentId) {
+        return merchantRepository.findChildSummariesByParentId(parentId);
+    }
+
+    /**
+     * One keyset page of list rows: up to limit merchants matching filter with
+     * an id above afterId (null for the first page), ascending by id.
+     */
+    @Transactional(readOnly = true)
+    public List<MerchantSummary> getMerchantPage(MerchantFilter filter, Long afterId, int limit) {
+        return merchantRepository.findPage(filter, afterId, limit);
+    }
+
+    /**
+     * Roughly how many merchants match filter, without a COUNT. Unfiltered it
+     * is the size of the in-memory tree; otherwise the query planner's
+     * estimate. Runs outside any transaction so a failed estimate cannot spoil
+     * the page it accompanies; null when no estimate is available.
+     */
+    public Long estimateMerchantCount(MerchantFilter filter) {
+        if (filter.isEmpty()) {
+            return (long) merchantTree.size();
+        }
+        try {
+            return merchantRepository.estimateCount(filter);
+        } catch (RuntimeException e) {
+            System.out.println("Merchant count estimate failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The merchant with id rootId and its descendants down to maxDepth levels
+     * below it, parents before children, in one recursive query.
+     */
+    @Transactional(readOnly = true)
+    public List<MerchantSummary> getSubtree(Long rootId, int maxDepth) {
+        List<MerchantSummary> rows = merchantRepository.findSubtree(rootId, maxDepth);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Merchant", "ID", rootId.toString());
+        }
+        return rows;
+    }
+
     @Transactional(readOnly = true)
     public Merchant getMerchantById(Long merchantId) {
         return merchantRepository.findById(merchantId)
@@ -73,6 +139,10 @@ public class MerchantService {
             throw new DuplicateException("Merchant", "ID", existingId == null ? "unknown" : existingId.toString());
         }
 
+        if (payload.getParentMerchant() != null) {
+            checkParent(null, payload.getParentMerchant().getMerchantId());
+        }
+
         // Save merchant to DB
         Merchant savedMerchant = merchantRepository.save(payload);
         System.out.println("Merchant created: " + savedMerchant.getMerchantId());
@@ -95,16 +165,55 @@ public class MerchantService {
         if (updates.getImageUrl() != null) existing.setImageUrl(updates.getImageUrl());
         if (updates.getPayoutFrequency() != null) existing.setPayoutFrequency(updates.getPayoutFrequency());
         if (updates.getEmail() != null) existing.setEmail(updates.getEmail());
-        if (updates.getParentMerchant() != null) existing.setParentMerchant(updates.getParentMerchant());
+        if (updates.getParentMerchant() != null) {
+            checkParent(merchantId, updates.getParentMerchant().getMerchantId());
+            existing.setParentMerchant(updates.getParentMerchant());
+        }
 
         return merchantRepository.save(existing);
     }
 
     /**
-     * Helper: determine if a merchant has children.
+     * Helper: determine if a merchant has children. Answered from the
+     * in-memory tree, so it is cheap enough to call for every merchant in a list.
      */
-    @Transactional(readOnly = true)
     public boolean merchantHasChildren(Long merchantId) {
-        return merchantRepository.hasChildren(merchantId);
+        return merchantTree.hasChildren(merchantId);
+    }
+
+    public int merchantChildCount(Long merchantId) {
+        return merchantTree.childCount(merchantId);
+    }
+
+    public int getMaxHierarchyDepth() {
+        return merchantTree.getMaxDepth();
+    }
+
+    /**
+     * The parent must exist, and must not make the hierarchy cyclic or deeper
+     * than {@code merchant.hierarchy.max-depth}. Checked against the database
+     * under a transaction-scoped advisory lock, so two concurrent parent
+     * changes (on this or another instance) cannot each pass the check and
+     * together create a cycle.
+     */
+    private void checkParent(Long merchantId, Long parentId) {
+        if (parentId.equals(merchantId)) {
+            throw new InvalidParentException(merchantId, parentId, "a merchant cannot be its own parent");
+        }
+        merchantRepository.lockHierarchy();
+
+        int maxDepth = merchantTree.getMaxDepth();
+        List<Long> path = merchantRepository.findAncestorIds(parentId, maxDepth);
+        if (path.isEmpty()) {
+            throw new NotFoundException("Merchant", "ID", parentId.toString());
+        }
+        if (merchantId != null && path.contains(merchantId)) {
+            throw new InvalidParentException(merchantId, parentId, "the parent is one of its descendants");
+        }
+        int levels = path.size() + 1 + (merchantId == null ? 0 : merchantRepository.findSubtreeHeight(merchantId, maxDepth));
+        if (levels > maxDepth) {
+            throw new InvalidParentException(merchantId, parentId,
+                    "the hierarchy would be " + levels + " levels deep, the maximum is " + maxDepth);
+        }
     }
-}
\ No newline at end of file
+}
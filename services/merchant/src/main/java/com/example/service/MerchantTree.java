@@ -0,0 +1,158 @@
+package com.example.service;
+
+import com.example.repository.MerchantParent;
+import com.example.repository.MerchantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The merchant hierarchy in memory: each merchant's parent and each parent's
+ * children, so hasChildren and child counts cost a map lookup instead of a
+ * query per merchant.
+ *
+ * Built from one (id, parent id) query at startup and kept current by
+ * {@link MerchantTreeListener} as merchants are written. Writes made by other
+ * instances show up at the next rebuild, every
+ * {@code merchant.tree.refresh-interval-ms}.
+ *
+ * It also carries {@code merchant.hierarchy.max-depth}, the deepest allowed
+ * hierarchy (top-level merchants are level 1). Parent changes are checked
+ * against the database by {@link MerchantService}, not against this copy.
+ */
+@Component
+public class MerchantTree {
+
+    // ConcurrentHashMap holds no null values, so top-level merchants map to this
+    private static final Long NO_PARENT = 0L;
+
+    private final MerchantRepository merchantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxDepth;
+
+    private volatile Map<Long, Long> parents = new ConcurrentHashMap<>();
+    private volatile Map<Long, Set<Long>> children = new ConcurrentHashMap<>();
+    private long modifications; // guarded by this
+
+    public MerchantTree(MerchantRepository merchantRepository,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${merchant.hierarchy.max-depth:5}") int maxDepth) {
+        this.merchantRepository = merchantRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public boolean hasChildren(Long merchantId) {
+        return childCount(merchantId) > 0;
+    }
+
+    public int childCount(Long merchantId) {
+        Set<Long> ids = children.get(merchantId);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /** Direct children, ascending by id. */
+    public List<Long> childrenOf(Long merchantId) {
+        Set<Long> ids = children.get(merchantId);
+        if (ids == null) {
+            return List.of();
+        }
+        List<Long> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        return sorted;
+    }
+
+    /** Merchants known to the tree, i.e. all merchants as of the last write or rebuild. */
+    public int size() {
+        return parents.size();
+    }
+
+    public boolean contains(Long merchantId) {
+        return parents.containsKey(merchantId);
+    }
+
+    /** The parent's id, or null for a top-level or unknown merchant. */
+    public Long parentOf(Long merchantId) {
+        Long parentId = parents.get(merchantId);
+        return NO_PARENT.equals(parentId) ? null : parentId;
+    }
+
+    /** Adds a merchant, or moves an existing one under {@code parentId} (null for top level). */
+    public synchronized void put(Long merchantId, Long parentId) {
+        modifications++;
+        detach(merchantId, parents.put(merchantId, parentId == null ? NO_PARENT : parentId));
+        if (parentId != null) {
+            children.computeIfAbsent(parentId, id -> ConcurrentHashMap.newKeySet()).add(merchantId);
+        }
+    }
+
+    public synchronized void remove(Long merchantId) {
+        modifications++;
+        detach(merchantId, parents.remove(merchantId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+        System.out.println("Merchant tree loaded with " + parents.size() + " merchants");
+    }
+
+    /**
+     * Replaces the tree with the database's. The read runs in a read-write
+     * transaction so it is served by the primary, never a lagging replica. A
+     * rebuild that overlaps a local write is dropped rather than risk undoing
+     * that write; the next one catches up.
+     */
+    @Scheduled(fixedDelayString = "${merchant.tree.refresh-interval-ms:60000}",
+               initialDelayString = "${merchant.tree.refresh-interval-ms:60000}")
+    public void rebuild() {
+        long seen;
+        synchronized (this) {
+            seen = modifications;
+        }
+        List<MerchantParent> rows = transactionTemplate.execute(status -> merchantRepository.findAllParentIds());
+
+        Map<Long, Long> loadedParents = new ConcurrentHashMap<>(rows.size() * 2);
+        Map<Long, Set<Long>> loadedChildren = new ConcurrentHashMap<>();
+        for (MerchantParent row : rows) {
+            Long parentId = row.getParentMerchantId();
+            loadedParents.put(row.getMerchantId(), parentId == null ? NO_PARENT : parentId);
+            if (parentId != null) {
+                loadedChildren.computeIfAbsent(parentId, id -> ConcurrentHashMap.newKeySet()).add(row.getMerchantId());
+            }
+        }
+
+        synchronized (this) {
+            if (modifications == seen) {
+                parents = loadedParents;
+                children = loadedChildren;
+            }
+        }
+    }
+
+    private void detach(Long merchantId, Long previousParentId) {
+        if (previousParentId == null || NO_PARENT.equals(previousParentId)) {
+            return;
+        }
+        Set<Long> siblings = children.get(previousParentId);
+        if (siblings != null) {
+            siblings.remove(merchantId);
+            if (siblings.isEmpty()) {
+                children.remove(previousParentId, siblings);
+            }
+        }
+    }
+}
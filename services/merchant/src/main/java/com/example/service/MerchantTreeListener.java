@@ -0,0 +1,73 @@
+package com.example.service;
+
+import com.example.model.Merchant;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link MerchantTree} in step with every merchant insert, update and
+ * delete, whichever code path made it. The change is applied as soon as
+ * Hibernate writes it, so the rest of the transaction sees it, and put back
+ * if the transaction rolls back.
+ */
+@Component
+public class MerchantTreeListener {
+
+    private final MerchantTree merchantTree;
+
+    // Lazy: Hibernate creates this listener while the EntityManagerFactory that
+    // MerchantTree's repository needs is still being built
+    public MerchantTreeListener(@Lazy MerchantTree merchantTree) {
+        this.merchantTree = merchantTree;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Merchant merchant) {
+        Merchant parent = merchant.getParentMerchant();
+        Long merchantId = merchant.getMerchantId();
+        Long parentId = parent != null ? parent.getMerchantId() : null;
+        if (merchantTree.contains(merchantId) && sameParent(merchantId, parentId)) {
+            return;
+        }
+        undoOnRollback(merchantId);
+        merchantTree.put(merchantId, parentId);
+    }
+
+    @PostRemove
+    public void removed(Merchant merchant) {
+        undoOnRollback(merchant.getMerchantId());
+        merchantTree.remove(merchant.getMerchantId());
+    }
+
+    private boolean sameParent(Long merchantId, Long parentId) {
+        Long current = merchantTree.parentOf(merchantId);
+        return current == null ? parentId == null : current.equals(parentId);
+    }
+
+    private void undoOnRollback(Long merchantId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        boolean existed = merchantTree.contains(merchantId);
+        Long previousParentId = merchantTree.parentOf(merchantId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                if (existed) {
+                    merchantTree.put(merchantId, previousParentId);
+                } else {
+                    merchantTree.remove(merchantId);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+-- Runs after Hibernate's schema update (spring.jpa.defer-datasource-initialization).
+-- Indexes JPA's @Index cannot describe.
+
+-- location prefix filter: LIKE 'prefix%' can only use a btree built with
+-- text_pattern_ops unless the database collation is C
+CREATE INDEX IF NOT EXISTS idx_merchants_location_prefix
+  ON merchants (location text_pattern_ops);
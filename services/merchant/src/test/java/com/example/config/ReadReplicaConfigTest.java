@@ -0,0 +1,43 @@
+package com.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadReplicaConfig Unit Tests")
+class ReadReplicaConfigTest {
+
+    @Test
+    @DisplayName("Should give the replica pool the primary's settings, auto-commit included")
+    void replicaPool_CopiesPrimarySettings() {
+        // Given: the primary as spring.datasource.* and spring.datasource.hikari.* configure it
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl("jdbc:postgresql://primary:5432/merchant");
+        primary.setUsername("postgres");
+        primary.setPassword("secret");
+        primary.setAutoCommit(false);
+        primary.setMaximumPoolSize(16);
+        primary.addDataSourceProperty("reWriteBatchedInserts", "true");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("merchant.datasource.replica.url", "jdbc:postgresql://replica:5432/merchant")
+                .withProperty("merchant.datasource.replica.hikari.maximum-pool-size", "8");
+
+        // When
+        HikariDataSource replica = ReadReplicaConfig.replicaPool(primary, environment);
+
+        // Then
+        assertFalse(replica.isAutoCommit());
+        assertEquals("jdbc:postgresql://replica:5432/merchant", replica.getJdbcUrl());
+        assertEquals("postgres", replica.getUsername());
+        assertEquals("secret", replica.getPassword());
+        assertEquals("true", replica.getDataSourceProperties().getProperty("reWriteBatchedInserts"));
+        assertEquals(8, replica.getMaximumPoolSize()); // replica-specific override
+        assertEquals(1000, replica.getConnectionTimeout());
+        assertEquals("merchant-replica", replica.getPoolName());
+        assertEquals(-1, replica.getInitializationFailTimeout());
+        assertEquals("jdbc:postgresql://primary:5432/merchant", primary.getJdbcUrl());
+    }
+}
@@ -5,6 +5,9 @@ import com.example.dto.UpdateMerchantRequest;
 import com.example.model.Merchant;
 import com.example.repository.MerchantRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -40,6 +43,7 @@ class MerchantControllerIntegrationTest {
         registry.add("spring.datasource.url", postgres::getJdbcUrl);
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
     }
 
     @Autowired
@@ -51,6 +55,9 @@ class MerchantControllerIntegrationTest {
     @Autowired
     private MerchantRepository merchantRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Merchant parentMerchant;
     private Merchant childMerchant;
 
@@ -123,6 +130,89 @@ class MerchantControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("Should list merchants with one query however many there are")
+    void getAllMerchants_ManyMerchants_SingleQuery() throws Exception {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        int saved = 0;
+
+        // Same statement count at both sizes: nothing is loaded per merchant
+        for (int size : new int[] {6, 60}) {
+            for (; saved < size; saved++) {
+                merchantRepository.save(Merchant.builder()
+                        .name("Stall " + saved)
+                        .email("stall" + saved + "@example.com")
+                        .parentMerchant(saved % 3 == 0 ? parentMerchant : saved % 3 == 1 ? childMerchant : null)
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            for (String parentId : new String[] {null, "null", parentMerchant.getMerchantId().toString()}) {
+                statistics.clear();
+                mockMvc.perform(parentId == null ? get("/api/merchants") : get("/api/merchants").param("parentId", parentId))
+                        .andExpect(status().isOk());
+                Assertions.assertEquals(1, statistics.getPrepareStatementCount(),
+                        "statements for parentId=" + parentId + " with " + (size + 2) + " merchants");
+            }
+            mockMvc.perform(get("/api/merchants"))
+                    .andExpect(jsonPath("$", hasSize(size + 2)));
+        }
+
+        mockMvc.perform(get("/api/merchants").param("parentId", "null"))
+                .andExpect(jsonPath("$", hasSize(21)))
+                .andExpect(jsonPath("$[0].hasChildren", is(true)))
+                .andExpect(jsonPath("$[0].childCount", is(21)));
+    }
+
+    @Test
+    @DisplayName("Should page through merchants with cursor tokens")
+    void getAllMerchants_Paged_FollowsCursor() throws Exception {
+        String body = mockMvc.perform(get("/api/merchants").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Parent Merchant")))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andExpect(jsonPath("$.estimatedTotal", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/merchants").param("limit", "1").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name", is("Child Merchant")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/merchants").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/merchants").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should filter pages by location prefix, payout frequency and hasChildren")
+    void getAllMerchants_Paged_Filters() throws Exception {
+        merchantRepository.save(Merchant.builder()
+                .name("Campus Stall")
+                .email("campus@example.com")
+                .location("Sing_apore Campus")
+                .payoutFrequency("Weekly")
+                .build());
+
+        mockMvc.perform(get("/api/merchants").param("location", "Singa"))
+                .andExpect(jsonPath("$.items", hasSize(2)));
+        mockMvc.perform(get("/api/merchants").param("location", "Sing_"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Campus Stall")));
+        mockMvc.perform(get("/api/merchants").param("payoutFrequency", "Weekly").param("parentId", "null"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Campus Stall")));
+        mockMvc.perform(get("/api/merchants").param("hasChildren", "true"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Parent Merchant")));
+        mockMvc.perform(get("/api/merchants").param("hasChildren", "false"))
+                .andExpect(jsonPath("$.items", hasSize(2)));
+    }
+
     @Test
     @DisplayName("Should return 400 when parentId is invalid")
     void getAllMerchants_InvalidParentId_Returns400() throws Exception {
@@ -366,6 +456,53 @@ class MerchantControllerIntegrationTest {
                 .andExpect(jsonPath("$.hasChildren", is(false)));
     }
 
+    @Test
+    @DisplayName("Should return the nested subtree under a merchant")
+    void getSubtree_ReturnsNestedTree() throws Exception {
+        Merchant stall = merchantRepository.save(Merchant.builder()
+                .name("Stall")
+                .email("stall@example.com")
+                .parentMerchant(childMerchant)
+                .build());
+
+        mockMvc.perform(get("/api/merchants/{id}/subtree", parentMerchant.getMerchantId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Parent Merchant")))
+                .andExpect(jsonPath("$.children", hasSize(1)))
+                .andExpect(jsonPath("$.children[0].name", is("Child Merchant")))
+                .andExpect(jsonPath("$.children[0].children[0].merchantId", is(stall.getMerchantId().intValue())))
+                .andExpect(jsonPath("$.children[0].children[0].children", hasSize(0)))
+                .andExpect(jsonPath("$.children[0].children[0].truncated", is(false)));
+
+        mockMvc.perform(get("/api/merchants/{id}/subtree", parentMerchant.getMerchantId())
+                        .param("depth", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.truncated", is(false)))
+                .andExpect(jsonPath("$.children[0].hasChildren", is(true)))
+                .andExpect(jsonPath("$.children[0].truncated", is(true)))
+                .andExpect(jsonPath("$.children[0].children", hasSize(0)));
+
+        mockMvc.perform(get("/api/merchants/{id}/subtree", parentMerchant.getMerchantId())
+                        .param("depth", "5"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/merchants/{id}/subtree", 999999))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a parent change would create a cycle")
+    void patchMerchant_ParentCycle_Returns400() throws Exception {
+        UpdateMerchantRequest request = UpdateMerchantRequest.builder()
+                .parentMerchantId(childMerchant.getMerchantId())
+                .build();
+
+        mockMvc.perform(patch("/api/merchants/{id}", parentMerchant.getMerchantId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should handle empty database gracefully")
     void getAllMerchants_EmptyDatabase_ReturnsEmptyList() throws Exception {
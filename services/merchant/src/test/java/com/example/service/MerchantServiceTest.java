@@ -1,13 +1,16 @@
 package com.example.service;
 
 import com.example.exception.DuplicateException;
+import com.example.exception.InvalidParentException;
 import com.example.exception.NotFoundException;
 import com.example.model.Merchant;
+import com.example.repository.MerchantFilter;
 import com.example.repository.MerchantRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -27,6 +30,9 @@ class MerchantServiceTest {
     @Mock
     private MerchantRepository merchantRepository;
 
+    @Mock
+    private MerchantTree merchantTree;
+
     @InjectMocks
     private MerchantService merchantService;
 
@@ -255,6 +261,58 @@ class MerchantServiceTest {
         verify(merchantRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Should reject a merchant as its own parent or under its own descendant")
+    void updateMerchantPartial_ParentCycle_ThrowsException() {
+        when(merchantRepository.findById(anyLong())).thenReturn(Optional.of(parentMerchant));
+        when(merchantTree.getMaxDepth()).thenReturn(4);
+        // 1 > 2 > 3: moving 1 under 3 finds 1 among 3's ancestors
+        when(merchantRepository.findAncestorIds(3L, 4)).thenReturn(List.of(3L, 2L, 1L));
+        Merchant updates = new Merchant();
+
+        updates.setParentMerchant(Merchant.builder().merchantId(1L).build());
+        assertThrows(InvalidParentException.class, () -> merchantService.updateMerchantPartial(1L, updates));
+        updates.setParentMerchant(Merchant.builder().merchantId(3L).build());
+        assertThrows(InvalidParentException.class, () -> merchantService.updateMerchantPartial(1L, updates));
+
+        // The ancestors are read under the hierarchy lock
+        InOrder inOrder = inOrder(merchantRepository);
+        inOrder.verify(merchantRepository).lockHierarchy();
+        inOrder.verify(merchantRepository).findAncestorIds(3L, 4);
+        verify(merchantRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a parent that makes the hierarchy too deep, counting the moved subtree")
+    void updateMerchantPartial_ParentTooDeep_ThrowsException() {
+        when(merchantRepository.findById(2L)).thenReturn(Optional.of(childMerchant));
+        when(merchantRepository.save(any(Merchant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(merchantTree.getMaxDepth()).thenReturn(4);
+        // 6 is at level 2 under 4; 2 has two levels below it
+        when(merchantRepository.findAncestorIds(6L, 4)).thenReturn(List.of(6L, 4L));
+        when(merchantRepository.findSubtreeHeight(2L, 4)).thenReturn(2, 1);
+        Merchant updates = new Merchant();
+        updates.setParentMerchant(Merchant.builder().merchantId(6L).build());
+
+        InvalidParentException ex = assertThrows(InvalidParentException.class,
+                () -> merchantService.updateMerchantPartial(2L, updates));
+        assertTrue(ex.getMessage().contains("maximum is 4"));
+        // With one level below it, 2 fits at level 3
+        assertEquals(6L, merchantService.updateMerchantPartial(2L, updates).getParentMerchant().getMerchantId());
+    }
+
+    @Test
+    @DisplayName("Should throw NotFoundException when the new parent does not exist")
+    void createMerchant_UnknownParent_ThrowsException() {
+        when(merchantTree.getMaxDepth()).thenReturn(4);
+        when(merchantRepository.findAncestorIds(99L, 4)).thenReturn(List.of());
+        testMerchant.setParentMerchant(Merchant.builder().merchantId(99L).build());
+
+        assertThrows(NotFoundException.class, () -> merchantService.createMerchant(testMerchant));
+        verify(merchantRepository).lockHierarchy();
+        verify(merchantRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Should update merchant partially - name only")
     void updateMerchantPartial_NameOnly_Success() {
@@ -325,14 +383,15 @@ class MerchantServiceTest {
     void merchantHasChildren_True() {
         // Given
         Long merchantId = 1L;
-        when(merchantRepository.hasChildren(merchantId)).thenReturn(true);
+        when(merchantTree.hasChildren(merchantId)).thenReturn(true);
 
         // When
         boolean result = merchantService.merchantHasChildren(merchantId);
 
         // Then
         assertTrue(result);
-        verify(merchantRepository, times(1)).hasChildren(merchantId);
+        verify(merchantTree, times(1)).hasChildren(merchantId);
+        verify(merchantRepository, never()).hasChildren(merchantId);
     }
 
     @Test
@@ -340,14 +399,15 @@ class MerchantServiceTest {
     void merchantHasChildren_False() {
         // Given
         Long merchantId = 3L;
-        when(merchantRepository.hasChildren(merchantId)).thenReturn(false);
+        when(merchantTree.hasChildren(merchantId)).thenReturn(false);
 
         // When
         boolean result = merchantService.merchantHasChildren(merchantId);
 
         // Then
         assertFalse(result);
-        verify(merchantRepository, times(1)).hasChildren(merchantId);
+        verify(merchantTree, times(1)).hasChildren(merchantId);
+        verify(merchantRepository, never()).hasChildren(merchantId);
     }
 
     @Test
@@ -369,4 +429,22 @@ class MerchantServiceTest {
         assertEquals("parent@example.com", result.getEmail()); // unchanged
         verify(merchantRepository, times(1)).save(any(Merchant.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should estimate the unfiltered count from the merchant tree without a query")
+    void estimateMerchantCount_NoFilter_UsesTree() {
+        when(merchantTree.size()).thenReturn(42);
+
+        assertEquals(42L, merchantService.estimateMerchantCount(MerchantFilter.NONE));
+        verify(merchantRepository, never()).estimateCount(any());
+    }
+
+    @Test
+    @DisplayName("Should return no estimate instead of failing when the planner estimate fails")
+    void estimateMerchantCount_EstimateFails_ReturnsNull() {
+        MerchantFilter filter = new MerchantFilter(false, null, "Sing", null, null);
+        when(merchantRepository.estimateCount(filter)).thenThrow(new RuntimeException("boom"));
+
+        assertNull(merchantService.estimateMerchantCount(filter));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.service;
+
+import com.example.model.Merchant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MerchantTreeListener Unit Tests")
+class MerchantTreeListenerTest {
+
+    private MerchantTree tree;
+    private MerchantTreeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        // 1 food court > 2 zone > 3 stall, plus a second top-level merchant 4
+        tree = new MerchantTree(null, null, 4);
+        tree.put(1L, null);
+        tree.put(2L, 1L);
+        tree.put(3L, 2L);
+        tree.put(4L, null);
+        listener = new MerchantTreeListener(tree);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should keep insert, move and delete when the transaction commits")
+    void commit_KeepsChanges() {
+        listener.saved(merchant(5L, 4L));
+        listener.saved(merchant(3L, 4L));
+        listener.removed(merchant(2L, 1L));
+
+        // Visible to the rest of the transaction before it completes
+        assertEquals(List.of(3L, 5L), tree.childrenOf(4L));
+        assertFalse(tree.contains(2L));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(4L, tree.parentOf(5L));
+        assertEquals(4L, tree.parentOf(3L));
+        assertFalse(tree.contains(2L));
+        assertFalse(tree.hasChildren(1L));
+    }
+
+    @Test
+    @DisplayName("Should put insert, move and delete back when the transaction rolls back")
+    void rollback_UndoesChanges() {
+        listener.saved(merchant(5L, 4L));
+        listener.saved(merchant(3L, 4L));
+        listener.removed(merchant(2L, 1L));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertFalse(tree.contains(5L));
+        assertEquals(2L, tree.parentOf(3L));
+        assertEquals(1L, tree.parentOf(2L));
+        assertEquals(List.of(2L), tree.childrenOf(1L));
+        assertFalse(tree.hasChildren(4L));
+    }
+
+    @Test
+    @DisplayName("Should register nothing when the parent did not change")
+    void saved_SameParent_RegistersNothing() {
+        listener.saved(merchant(3L, 2L));
+
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+        assertEquals(2L, tree.parentOf(3L));
+    }
+
+    private Merchant merchant(Long id, Long parentId) {
+        return Merchant.builder()
+                .merchantId(id)
+                .parentMerchant(parentId == null ? null : Merchant.builder().merchantId(parentId).build())
+                .build();
+    }
+
+    // What the transaction manager does once the transaction ends
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(status));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MerchantTree Unit Tests")
+class MerchantTreeTest {
+
+    private MerchantTree tree;
+
+    @BeforeEach
+    void setUp() {
+        // 1 food court > 2 zone > 3 stall, plus a second top-level merchant 4
+        tree = new MerchantTree(null, null, 4);
+        tree.put(1L, null);
+        tree.put(2L, 1L);
+        tree.put(3L, 2L);
+        tree.put(4L, null);
+    }
+
+    @Test
+    @DisplayName("Should track children as merchants are added, moved and removed")
+    void putMoveRemove() {
+        assertTrue(tree.hasChildren(1L));
+        assertEquals(List.of(3L), tree.childrenOf(2L));
+        assertEquals(2L, tree.parentOf(3L));
+        assertNull(tree.parentOf(1L));
+
+        tree.put(3L, 4L);
+        assertFalse(tree.hasChildren(2L));
+        assertEquals(1, tree.childCount(4L));
+
+        tree.remove(3L);
+        assertFalse(tree.hasChildren(4L));
+        assertFalse(tree.contains(3L));
+    }
+}
@@ -0,0 +1,40 @@
+// k6 load test: runner apps polling their assigned orders.
+//
+//   k6 run -e BASE_URL=http://localhost:8088 -e TOKEN=<runner jwt> loadtest/my-orders-pollers.js
+//
+// Run once against the default profile (platform threads) and once with
+// SPRING_PROFILES_ACTIVE=virtual-threads, then compare http_req_duration p95/p99 and http_reqs rate.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8088';
+const TOKEN = __ENV.TOKEN;
+const POLL_INTERVAL_SECONDS = Number(__ENV.POLL_INTERVAL || 2);
+
+export const options = {
+  scenarios: {
+    pollers: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: 2000 },
+        { duration: '2m', target: 2000 },
+        { duration: '15s', target: 0 },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(95)<500'],
+  },
+};
+
+export default function () {
+  const res = http.get(`${BASE_URL}/api/runners/assign/my-orders`, {
+    headers: { Authorization: `Bearer ${TOKEN}` },
+    tags: { name: 'my-orders' },
+  });
+  check(res, { 'status is 200': (r) => r.status === 200 });
+  sleep(POLL_INTERVAL_SECONDS);
+}
@@ -2,8 +2,15 @@ package com.example.runner;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+/**
+ * Scheduling drives the write-behind flushes (assignment audit, coalesced
+ * ready notifications, assignment cache reset). The assignment and
+ * availability-cleanup jobs stay off unless their cron properties are set.
+ */
 @SpringBootApplication
+@EnableScheduling
 public class RunnerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,45 @@
+package com.example.runner.controller;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import com.example.runner.model.AssignmentHistory;
+import com.example.runner.model.AssignmentRun;
+import com.example.runner.model.AssignmentSlotStats;
+import com.example.runner.model.Timeslot;
+import com.example.runner.service.AssignmentAuditService;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/runners/admin/assignments")
+public class AssignmentStatsController {
+
+    private final AssignmentAuditService auditService;
+
+    public AssignmentStatsController(AssignmentAuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    // Per-day/per-slot rollups; defaults to the last 7 days
+    @GetMapping("/stats")
+    public ResponseEntity<List<AssignmentSlotStats>> getSlotStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = (to != null) ? to : LocalDate.now();
+        LocalDate start = (from != null) ? from : end.minusDays(6);
+        return ResponseEntity.ok(auditService.getSlotStats(start, end));
+    }
+
+    @GetMapping("/runs/{date}/{timeslot}")
+    public ResponseEntity<List<AssignmentRun>> getRuns(@PathVariable LocalDate date, @PathVariable Timeslot timeslot) {
+        return ResponseEntity.ok(auditService.getRuns(date, timeslot));
+    }
+
+    @GetMapping("/history/{orderId}")
+    public ResponseEntity<List<AssignmentHistory>> getOrderHistory(@PathVariable Long orderId) {
+        return ResponseEntity.ok(auditService.getOrderHistory(orderId));
+    }
+}
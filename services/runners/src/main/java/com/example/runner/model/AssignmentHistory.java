@@ -0,0 +1,41 @@
+package com.example.runner.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-order assignment history. Append-only, one row per event.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "assignment_history", indexes = {
+    @Index(name = "idx_assignment_history_order", columnList = "orderId")
+})
+public class AssignmentHistory {
+
+    public static final String ASSIGNED = "ASSIGNED";
+    public static final String RESET = "RESET";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assignment_history_seq")
+    @SequenceGenerator(name = "assignment_history_seq", sequenceName = "assignment_history_seq", allocationSize = 50)
+    private Long id;
+
+    // null for events not tied to a run (e.g. RESET)
+    @Column(length = 36)
+    private String runId;
+
+    private Long orderId;
+    private Long runnerId;
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    private Timeslot timeslot;
+
+    private String event;
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,47 @@
+package com.example.runner.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row per assignment run. Append-only: never updated or deleted,
+ * so it survives resetAllAssignments.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "assignment_runs", indexes = {
+    @Index(name = "idx_assignment_runs_date_slot", columnList = "date, timeslot")
+})
+public class AssignmentRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assignment_run_seq")
+    @SequenceGenerator(name = "assignment_run_seq", sequenceName = "assignment_runs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String runId;
+
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    private Timeslot timeslot;
+
+    private String strategy;
+
+    private int ordersAssigned;
+    private int runnersAvailable;
+    private int minRunnerLoad;
+    private int maxRunnerLoad;
+
+    // runnerId -> number of orders, as JSON
+    @Column(columnDefinition = "TEXT")
+    private String loadDistributionJson;
+
+    private LocalDateTime startedAt;
+    private long durationMs;
+}
@@ -0,0 +1,42 @@
+package com.example.runner.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Pre-computed rollup per (date, timeslot), updated as runs are flushed.
+ * The stats endpoint reads these instead of scanning runner_assignments.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "assignment_slot_stats",
+       uniqueConstraints = @UniqueConstraint(name = "uc_slot_stats_date_slot", columnNames = {"date", "timeslot"}))
+public class AssignmentSlotStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Timeslot timeslot;
+
+    private int runs;
+    private int ordersAssigned;
+    private int maxRunnersAvailable;
+    private int maxRunnerLoad;
+    private long totalDurationMs;
+    private long maxDurationMs;
+    private int resetOrders;
+
+    public AssignmentSlotStats(LocalDate date, Timeslot timeslot) {
+        this.date = date;
+        this.timeslot = timeslot;
+    }
+}
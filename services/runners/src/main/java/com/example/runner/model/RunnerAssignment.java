@@ -8,11 +8,14 @@ import java.time.LocalDate;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "runner_assignments")
+@Table(name = "runner_assignments", indexes = {
+    @Index(name = "idx_runner_assignments_order", columnList = "orderId")
+})
 public class RunnerAssignment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "runner_assignment_seq")
+    @SequenceGenerator(name = "runner_assignment_seq", sequenceName = "runner_assignments_seq", allocationSize = 50)
     private Long id;
 
     private Long runnerId;
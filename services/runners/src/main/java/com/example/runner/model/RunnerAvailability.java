@@ -12,7 +12,8 @@ import java.time.LocalDate;
 public class RunnerAvailability {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "runner_availability_seq")
+    @SequenceGenerator(name = "runner_availability_seq", sequenceName = "runners_availability_seq", allocationSize = 50)
     private Long id;
     private Long runnerId;
 
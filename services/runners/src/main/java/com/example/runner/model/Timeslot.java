@@ -18,6 +18,10 @@ public enum Timeslot {
         return timeWindow;
     }
 
+    public LocalTime getEndTime() {
+        return LocalTime.parse(timeWindow.substring(timeWindow.indexOf('-') + 1));
+    }
+
     public static Timeslot fromDeliveryTime(LocalDateTime deliveryTime) {
         int hour = deliveryTime.getHour();
         int minute = deliveryTime.getMinute();
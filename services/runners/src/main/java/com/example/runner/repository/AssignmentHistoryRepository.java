@@ -0,0 +1,9 @@
+package com.example.runner.repository;
+
+import java.util.*;
+import com.example.runner.model.AssignmentHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AssignmentHistoryRepository extends JpaRepository<AssignmentHistory, Long> {
+    List<AssignmentHistory> findByOrderIdOrderByRecordedAtAsc(Long orderId);
+}
@@ -0,0 +1,11 @@
+package com.example.runner.repository;
+
+import java.time.LocalDate;
+import java.util.*;
+import com.example.runner.model.AssignmentRun;
+import com.example.runner.model.Timeslot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AssignmentRunRepository extends JpaRepository<AssignmentRun, Long> {
+    List<AssignmentRun> findByDateAndTimeslotOrderByStartedAtAsc(LocalDate date, Timeslot timeslot);
+}
@@ -0,0 +1,38 @@
+package com.example.runner.repository;
+
+import java.time.LocalDate;
+import java.util.*;
+import com.example.runner.model.AssignmentSlotStats;
+import com.example.runner.model.Timeslot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AssignmentSlotStatsRepository extends JpaRepository<AssignmentSlotStats, Long> {
+    Optional<AssignmentSlotStats> findByDateAndTimeslot(LocalDate date, Timeslot timeslot);
+    List<AssignmentSlotStats> findByDateBetweenOrderByDateAscTimeslotAsc(LocalDate from, LocalDate to);
+
+    // Adds one flush's deltas to the slot's row in a single statement, so two
+    // instances flushing the same slot cannot lose each other's counts
+    @Modifying
+    @Query(value = """
+        INSERT INTO assignment_slot_stats (date, timeslot, runs, orders_assigned, max_runners_available,
+                                           max_runner_load, total_duration_ms, max_duration_ms, reset_orders)
+        VALUES (:date, :timeslot, :runs, :ordersAssigned, :maxRunnersAvailable,
+                :maxRunnerLoad, :totalDurationMs, :maxDurationMs, :resetOrders)
+        ON CONFLICT (date, timeslot) DO UPDATE SET
+            runs = assignment_slot_stats.runs + EXCLUDED.runs,
+            orders_assigned = assignment_slot_stats.orders_assigned + EXCLUDED.orders_assigned,
+            max_runners_available = GREATEST(assignment_slot_stats.max_runners_available, EXCLUDED.max_runners_available),
+            max_runner_load = GREATEST(assignment_slot_stats.max_runner_load, EXCLUDED.max_runner_load),
+            total_duration_ms = assignment_slot_stats.total_duration_ms + EXCLUDED.total_duration_ms,
+            max_duration_ms = GREATEST(assignment_slot_stats.max_duration_ms, EXCLUDED.max_duration_ms),
+            reset_orders = assignment_slot_stats.reset_orders + EXCLUDED.reset_orders
+        """, nativeQuery = true)
+    void addDelta(@Param("date") LocalDate date, @Param("timeslot") String timeslot,
+                  @Param("runs") int runs, @Param("ordersAssigned") int ordersAssigned,
+                  @Param("maxRunnersAvailable") int maxRunnersAvailable, @Param("maxRunnerLoad") int maxRunnerLoad,
+                  @Param("totalDurationMs") long totalDurationMs, @Param("maxDurationMs") long maxDurationMs,
+                  @Param("resetOrders") int resetOrders);
+}
@@ -3,12 +3,25 @@ package com.example.runner.repository;
 import com.example.runner.model.PendingOrder;
 import com.example.runner.model.Timeslot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface PendingOrderRepository extends JpaRepository<PendingOrder, Long> {
     List<PendingOrder> findByTimeslotAndAssignedFalse(Timeslot timeslot);
     List<PendingOrder> findByDeliveryTimeBetweenAndAssignedFalse(LocalDateTime start, LocalDateTime end);
     List<PendingOrder> findByAssignedTrue();
+
+    // Bulk updates: saveAll on detached orders (assigned ids) merges, i.e. one SELECT per row
+    @Modifying
+    @Query("UPDATE PendingOrder p SET p.assigned = true WHERE p.orderId IN :orderIds")
+    int markAssigned(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("UPDATE PendingOrder p SET p.assigned = false WHERE p.assigned = true")
+    int unassignAll();
 }
@@ -10,4 +10,5 @@ public interface RunnerAssignmentRepository extends JpaRepository<RunnerAssignme
     List<RunnerAssignment> findByDateAndTimeslot(LocalDate date, Timeslot timeslot);
     List<RunnerAssignment> findByRunnerIdAndDate(Long runnerId, LocalDate date);
     Optional<RunnerAssignment> findByOrderId(Long orderId);
+    Optional<RunnerIdView> findRunnerIdByOrderId(Long orderId);
 }
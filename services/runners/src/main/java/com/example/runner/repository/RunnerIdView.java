@@ -0,0 +1,11 @@
+package com.example.runner.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a runner assignment: just enough to route a ready-for-collection event.
+ */
+public interface RunnerIdView {
+    Long getRunnerId();
+    LocalDate getDate();
+}
@@ -24,8 +24,10 @@ public class OrderAssignmentScheduler {
         this.runnerAssignmentService = runnerAssignmentService;
     }
 
-    @Scheduled(cron = "0 * * * * *")  
-     public void scheduledAssign() {
+    // "-" (the default) leaves the job off, as it was before scheduling was enabled;
+    // set runners.assignment.cron=0 * * * * * to assign every minute
+    @Scheduled(cron = "${runners.assignment.cron:-}")
+    public void scheduledAssign() {
         assignUpcomingOrders(LocalDateTime.now());
     }
 
@@ -0,0 +1,212 @@
+package com.example.runner.service;
+
+import com.example.runner.model.*;
+import com.example.runner.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Append-only audit log for assignment runs.
+ *
+ * Callers only enqueue; rows are written in batches by {@link #flush()} so the
+ * assignment path never waits on the audit tables. Each batch, with its
+ * per-slot rollup deltas, is written in its own transaction; a batch that
+ * fails is put back on the queues and retried at the next flush, up to
+ * {@code runners.audit.max-attempts} times per row. While the database is down
+ * at most {@code runners.audit.max-queued} rows wait per queue; rows dropped
+ * either way are logged.
+ */
+@Service
+public class AssignmentAuditService {
+
+    private final AssignmentRunRepository runRepo;
+    private final AssignmentHistoryRepository historyRepo;
+    private final AssignmentSlotStatsRepository statsRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Queue<Queued<AssignmentRun>> pendingRuns = new LinkedBlockingQueue<>();
+    private final Queue<Queued<AssignmentHistory>> pendingHistory = new LinkedBlockingQueue<>();
+
+    @Value("${runners.audit.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${runners.audit.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${runners.audit.max-queued:100000}")
+    private int maxQueued = 100000;
+
+    /** A row waiting to be written, and how many flushes it has already failed. */
+    private record Queued<T>(T row, int attempts) {
+    }
+
+    public AssignmentAuditService(AssignmentRunRepository runRepo,
+        AssignmentHistoryRepository historyRepo, AssignmentSlotStatsRepository statsRepo,
+        TransactionTemplate transactionTemplate) {
+        this.runRepo = runRepo;
+        this.historyRepo = historyRepo;
+        this.statsRepo = statsRepo;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void recordRun(String runId, LocalDate date, Timeslot slot, String strategy,
+                          Map<Long, Integer> loadByRunner, int runnersAvailable,
+                          LocalDateTime startedAt, long durationMs) {
+        int orders = 0;
+        int min = loadByRunner.isEmpty() ? 0 : Integer.MAX_VALUE;
+        int max = 0;
+        for (int load : loadByRunner.values()) {
+            orders += load;
+            min = Math.min(min, load);
+            max = Math.max(max, load);
+        }
+        // runners who got nothing still count towards the spread
+        if (loadByRunner.size() < runnersAvailable) {
+            min = 0;
+        }
+
+        String distribution;
+        try {
+            distribution = mapper.writeValueAsString(loadByRunner);
+        } catch (Exception e) {
+            distribution = "{}";
+        }
+
+        enqueue(pendingRuns, new AssignmentRun(null, runId, date, slot, strategy, orders, runnersAvailable,
+            min, max, distribution, startedAt, durationMs));
+    }
+
+    public void recordAssignment(String runId, RunnerAssignment assignment) {
+        enqueue(pendingHistory, new AssignmentHistory(null, runId, assignment.getOrderId(), assignment.getRunnerId(),
+            assignment.getDate(), assignment.getTimeslot(), AssignmentHistory.ASSIGNED, LocalDateTime.now()));
+    }
+
+    public void recordReset(List<RunnerAssignment> assignments) {
+        LocalDateTime now = LocalDateTime.now();
+        for (RunnerAssignment a : assignments) {
+            enqueue(pendingHistory, new AssignmentHistory(null, null, a.getOrderId(), a.getRunnerId(),
+                a.getDate(), a.getTimeslot(), AssignmentHistory.RESET, now));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${runners.audit.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        while (flushBatch()) {
+            // keep draining until both queues are empty
+        }
+    }
+
+    private boolean flushBatch() {
+        List<Queued<AssignmentRun>> queuedRuns = drain(pendingRuns);
+        List<Queued<AssignmentHistory>> queuedHistory = drain(pendingHistory);
+        if (queuedRuns.isEmpty() && queuedHistory.isEmpty()) {
+            return false;
+        }
+        List<AssignmentRun> runs = queuedRuns.stream().map(Queued::row).toList();
+        List<AssignmentHistory> history = queuedHistory.stream().map(Queued::row).toList();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                runRepo.saveAll(runs);
+                historyRepo.saveAll(history);
+                for (AssignmentSlotStats d : slotDeltas(runs, history)) {
+                    statsRepo.addDelta(d.getDate(), d.getTimeslot().name(), d.getRuns(), d.getOrdersAssigned(),
+                        d.getMaxRunnersAvailable(), d.getMaxRunnerLoad(), d.getTotalDurationMs(),
+                        d.getMaxDurationMs(), d.getResetOrders());
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            // Nothing of this batch was committed, but saveAll already gave the rows
+            // sequence ids. Clear them so the retry inserts instead of merging rows
+            // that do not exist.
+            runs.forEach(run -> run.setId(null));
+            history.forEach(h -> h.setId(null));
+            requeue(pendingRuns, queuedRuns);
+            requeue(pendingHistory, queuedHistory);
+            System.out.println("Assignment audit flush failed, will retry: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** This batch's contribution to each (date, timeslot) rollup. */
+    private List<AssignmentSlotStats> slotDeltas(List<AssignmentRun> runs, List<AssignmentHistory> history) {
+        Map<String, AssignmentSlotStats> touched = new LinkedHashMap<>();
+        for (AssignmentRun run : runs) {
+            AssignmentSlotStats stats = statsFor(touched, run.getDate(), run.getTimeslot());
+            stats.setRuns(stats.getRuns() + 1);
+            stats.setOrdersAssigned(stats.getOrdersAssigned() + run.getOrdersAssigned());
+            stats.setMaxRunnersAvailable(Math.max(stats.getMaxRunnersAvailable(), run.getRunnersAvailable()));
+            stats.setMaxRunnerLoad(Math.max(stats.getMaxRunnerLoad(), run.getMaxRunnerLoad()));
+            stats.setTotalDurationMs(stats.getTotalDurationMs() + run.getDurationMs());
+            stats.setMaxDurationMs(Math.max(stats.getMaxDurationMs(), run.getDurationMs()));
+        }
+        for (AssignmentHistory h : history) {
+            if (AssignmentHistory.RESET.equals(h.getEvent()) && h.getDate() != null && h.getTimeslot() != null) {
+                AssignmentSlotStats stats = statsFor(touched, h.getDate(), h.getTimeslot());
+                stats.setResetOrders(stats.getResetOrders() + 1);
+            }
+        }
+        return new ArrayList<>(touched.values());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public List<AssignmentSlotStats> getSlotStats(LocalDate from, LocalDate to) {
+        return statsRepo.findByDateBetweenOrderByDateAscTimeslotAsc(from, to);
+    }
+
+    public List<AssignmentRun> getRuns(LocalDate date, Timeslot slot) {
+        return runRepo.findByDateAndTimeslotOrderByStartedAtAsc(date, slot);
+    }
+
+    public List<AssignmentHistory> getOrderHistory(Long orderId) {
+        return historyRepo.findByOrderIdOrderByRecordedAtAsc(orderId);
+    }
+
+    private AssignmentSlotStats statsFor(Map<String, AssignmentSlotStats> touched, LocalDate date, Timeslot slot) {
+        return touched.computeIfAbsent(date + "|" + slot, k -> new AssignmentSlotStats(date, slot));
+    }
+
+    private <T> void enqueue(Queue<Queued<T>> queue, T row) {
+        if (queue.size() >= maxQueued) {
+            System.out.println("Assignment audit queue full, dropping " + row);
+            return;
+        }
+        queue.add(new Queued<>(row, 0));
+    }
+
+    private <T> void requeue(Queue<Queued<T>> queue, List<Queued<T>> failed) {
+        for (Queued<T> item : failed) {
+            int attempts = item.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                System.out.println("Assignment audit row failed " + attempts + " times, dropping " + item.row());
+            } else {
+                queue.add(new Queued<>(item.row(), attempts));
+            }
+        }
+    }
+
+    private <T> List<Queued<T>> drain(Queue<Queued<T>> queue) {
+        List<Queued<T>> batch = new ArrayList<>();
+        Queued<T> item;
+        while (batch.size() < batchSize && (item = queue.poll()) != null) {
+            batch.add(item);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.runner.service;
+
+import com.example.runner.repository.RunnerAssignmentRepository;
+import com.example.runner.repository.RunnerAvailabilityRepository;
+import com.example.runner.repository.RunnerIdView;
+import com.example.runner.util.LongLongHashMap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory view of assignments: orderId -> runnerId (one primitive map per
+ * delivery date) and runner emails. Entries are added once the assignment is
+ * committed and dropped at the end of their day; misses fall back to a
+ * projection query on runner_assignments.
+ */
+@Component
+public class AssignmentCache {
+
+    private static final long NO_RUNNER = Long.MIN_VALUE;
+
+    private final RunnerAssignmentRepository assignmentRepo;
+    private final RunnerAvailabilityRepository availabilityRepo;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<LocalDate, LongLongHashMap> runnerByOrderByDate = new HashMap<>();
+    private final ConcurrentHashMap<String, String> emailByRunnerAndDate = new ConcurrentHashMap<>();
+
+    public AssignmentCache(RunnerAssignmentRepository assignmentRepo, RunnerAvailabilityRepository availabilityRepo) {
+        this.assignmentRepo = assignmentRepo;
+        this.availabilityRepo = availabilityRepo;
+    }
+
+    public void putAssignment(Long orderId, Long runnerId, LocalDate date) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(orderId, runnerId, date);
+                }
+            });
+        } else {
+            put(orderId, runnerId, date);
+        }
+    }
+
+    public Long getRunnerId(Long orderId) {
+        lock.readLock().lock();
+        try {
+            for (LongLongHashMap day : runnerByOrderByDate.values()) {
+                long runnerId = day.get(orderId, NO_RUNNER);
+                if (runnerId != NO_RUNNER) {
+                    return runnerId;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        RunnerIdView view = assignmentRepo.findRunnerIdByOrderId(orderId).orElse(null);
+        if (view == null) {
+            return null;
+        }
+        put(orderId, view.getRunnerId(), view.getDate());
+        return view.getRunnerId();
+    }
+
+    public String getRunnerEmail(Long runnerId, LocalDate date) {
+        String key = runnerId + "|" + date;
+        String email = emailByRunnerAndDate.get(key);
+        if (email != null) {
+            return email;
+        }
+        email = availabilityRepo.findEmailByRunnerId(runnerId, date);
+        if (email != null) {
+            emailByRunnerAndDate.put(key, email);
+        }
+        return email;
+    }
+
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Singapore")
+    public void evictPastDays() {
+        evictBefore(LocalDate.now(ZoneId.of("Asia/Singapore")));
+    }
+
+    public void evictBefore(LocalDate today) {
+        lock.writeLock().lock();
+        try {
+            runnerByOrderByDate.keySet().removeIf(date -> date.isBefore(today));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        emailByRunnerAndDate.keySet().removeIf(key -> LocalDate.parse(key.substring(key.indexOf('|') + 1)).isBefore(today));
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            runnerByOrderByDate.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        emailByRunnerAndDate.clear();
+    }
+
+    private void put(Long orderId, Long runnerId, LocalDate date) {
+        if (date == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            runnerByOrderByDate.computeIfAbsent(date, d -> new LongLongHashMap()).put(orderId, runnerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
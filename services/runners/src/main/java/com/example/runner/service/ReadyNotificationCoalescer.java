@@ -0,0 +1,159 @@
+package com.example.runner.service;
+
+import com.example.runner.model.Timeslot;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Batches ready-for-collection events per runner so a merchant marking many
+ * orders ready at once produces one email instead of one per order.
+ *
+ * A runner's batch is published when the window elapses, when it reaches the
+ * size threshold, or when the delivery slot ends, whichever comes first.
+ * A batch whose publish fails goes back into the map and is retried at the
+ * next flush check; batches still held in memory when the process dies are lost.
+ */
+@Component
+public class ReadyNotificationCoalescer {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    private final ConcurrentHashMap<Long, Batch> batches = new ConcurrentHashMap<>();
+
+    public ReadyNotificationCoalescer(RabbitTemplate rabbitTemplate,
+        @Value("${runners.ready.coalesce-window-ms:30000}") long windowMillis,
+        @Value("${runners.ready.max-batch-size:10}") int maxBatchSize) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public void enqueue(Long runnerId, String runnerEmail, Map<String, Object> order, LocalDate date, Timeslot slot) {
+        enqueue(runnerId, runnerEmail, order, date, slot, LocalDateTime.now());
+    }
+
+    public void enqueue(Long runnerId, String runnerEmail, Map<String, Object> order,
+                        LocalDate date, Timeslot slot, LocalDateTime now) {
+        Batch[] full = new Batch[1];
+        batches.compute(runnerId, (id, batch) -> {
+            if (batch == null) {
+                LocalDateTime slotEnd = (slot != null) ? date.atTime(slot.getEndTime()) : null;
+                batch = new Batch(runnerEmail, now.plus(Duration.ofMillis(windowMillis)), slotEnd);
+            }
+            batch.orders.add(order);
+            if (batch.orders.size() >= maxBatchSize) {
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+        if (full[0] != null) {
+            publishOrRequeue(runnerId, full[0]);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${runners.ready.flush-check-ms:1000}")
+    public void scheduledFlush() {
+        flushDue(LocalDateTime.now());
+    }
+
+    public void flushDue(LocalDateTime now) {
+        for (Long runnerId : batches.keySet()) {
+            Batch[] due = new Batch[1];
+            batches.computeIfPresent(runnerId, (id, batch) -> {
+                if (batch.isDue(now)) {
+                    due[0] = batch;
+                    return null;
+                }
+                return batch;
+            });
+            if (due[0] != null) {
+                publishOrRequeue(runnerId, due[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        for (Long runnerId : batches.keySet()) {
+            Batch batch = batches.remove(runnerId);
+            if (batch != null) {
+                try {
+                    publish(batch);
+                } catch (RuntimeException e) {
+                    System.out.println("Dropped " + batch.orders.size() + " ready notification(s) for "
+                        + batch.runnerEmail + " at shutdown: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes a batch already taken out of the map. On failure its orders are
+     * put back ahead of anything queued since, keeping the original (already
+     * due) window so the next flush check retries them.
+     */
+    private void publishOrRequeue(Long runnerId, Batch batch) {
+        try {
+            publish(batch);
+        } catch (RuntimeException e) {
+            batches.merge(runnerId, batch, (queued, failed) -> {
+                failed.orders.addAll(queued.orders);
+                return failed;
+            });
+            System.out.println("Ready notification for " + batch.runnerEmail + " failed, will retry: " + e.getMessage());
+        }
+    }
+
+    private void publish(Batch batch) {
+        Map<String, Object> payload;
+        if (batch.orders.size() == 1) {
+            payload = Map.of(
+                "to", batch.runnerEmail,
+                "subject", "Order Ready for Collection",
+                "template", "order_ready_template",
+                "variables", batch.orders.get(0)
+            );
+        } else {
+            payload = Map.of(
+                "to", batch.runnerEmail,
+                "subject", batch.orders.size() + " Orders Ready for Collection",
+                "template", "order_ready_template",
+                "variables", Map.of("orders", batch.orders)
+            );
+        }
+
+        rabbitTemplate.convertAndSend("smunch.events", "runner.order.ready", payload);
+
+        System.out.println("Sent ready-for-collection email for " + batch.orders.size() + " order(s) to " + batch.runnerEmail);
+    }
+
+    private static class Batch {
+        private final String runnerEmail;
+        private final LocalDateTime windowEnd;
+        private final LocalDateTime slotEnd;
+        private final List<Map<String, Object>> orders = new ArrayList<>();
+
+        Batch(String runnerEmail, LocalDateTime windowEnd, LocalDateTime slotEnd) {
+            this.runnerEmail = runnerEmail;
+            this.windowEnd = windowEnd;
+            this.slotEnd = slotEnd;
+        }
+
+        boolean isDue(LocalDateTime now) {
+            return !now.isBefore(windowEnd) || (slotEnd != null && !now.isBefore(slotEnd));
+        }
+    }
+}
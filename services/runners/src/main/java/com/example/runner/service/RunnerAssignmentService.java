@@ -8,26 +8,42 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.*;
 
 @Service
 public class RunnerAssignmentService {
+    static final String ASSIGNMENT_STRATEGY = "ROUND_ROBIN";
+
     private final RunnerAvailabilityRepository availabilityRepo;
     private final RunnerAssignmentRepository assignmentRepo;
     private final PendingOrderRepository pendingOrderRepo;
     private final RunnerAvailabilityService availabilityService;
+    private final AssignmentAuditService auditService;
+    private final AssignmentCache assignmentCache;
+    private final ReadyNotificationCoalescer readyCoalescer;
+    private final TransactionTemplate transactionTemplate;
     
     @Autowired
     private RabbitTemplate rabbitTemplate;
 
     public RunnerAssignmentService(RunnerAvailabilityRepository availabilityRepo, 
-        RunnerAssignmentRepository assignmentRepo, PendingOrderRepository pendingOrderRepo, RunnerAvailabilityService availabilityService) {
+        RunnerAssignmentRepository assignmentRepo, PendingOrderRepository pendingOrderRepo, RunnerAvailabilityService availabilityService,
+        AssignmentAuditService auditService, AssignmentCache assignmentCache, ReadyNotificationCoalescer readyCoalescer,
+        TransactionTemplate transactionTemplate) {
         this.availabilityRepo = availabilityRepo;
         this.assignmentRepo = assignmentRepo;
         this.pendingOrderRepo = pendingOrderRepo;
         this.availabilityService = availabilityService;
+        this.auditService = auditService;
+        this.assignmentCache = assignmentCache;
+        this.readyCoalescer = readyCoalescer;
+        this.transactionTemplate = transactionTemplate;
     }
 
     // public Map<Long, List<Long>> assignOrdersToRunners(LocalDate date, Timeslot timeslot, List<Long> orderIds) {
@@ -84,41 +100,38 @@ public class RunnerAssignmentService {
 
     public void handleReadyForCollection(OrderStatusUpdate orderStatusUpdate) {
         Long orderId = orderStatusUpdate.getOrderId();
-    
 
-        RunnerAssignment assignment = assignmentRepo.findByOrderId(orderId)
-                .orElse(null);
+        Long runnerId = assignmentCache.getRunnerId(orderId);
 
-        if (assignment == null) {
+        if (runnerId == null) {
             System.out.println("No runner assignment found for order " + orderId);
             return;
         }
 
-        Long runnerId = assignment.getRunnerId();
-
-        LocalDate date = orderStatusUpdate.getDeliveryTime().toLocalDate();
-        String runnerEmail = availabilityRepo.findEmailByRunnerId(runnerId, date);
-     
-        Map<String, Object> payload = Map.of(
-            "to", runnerEmail,
-            "subject", "Order Ready for Collection",
-            "template", "order_ready_template",
-            "variables", Map.of(
-                "orderId", orderId,
-                "building", orderStatusUpdate.getBuilding(),
-                "roomType", orderStatusUpdate.getRoomType(),
-                "roomNumber", orderStatusUpdate.getRoomNumber(),
-                "deliveryTime", orderStatusUpdate.getDeliveryTime().toString()
-            )
+        LocalDateTime sgTime = orderStatusUpdate.getDeliveryTime()
+            .atOffset(ZoneOffset.UTC)
+            .atZoneSameInstant(ZoneId.of("Asia/Singapore"))
+            .toLocalDateTime();
+        LocalDate date = sgTime.toLocalDate();
+        String runnerEmail = assignmentCache.getRunnerEmail(runnerId, date);
+
+        Map<String, Object> order = Map.of(
+            "orderId", orderId,
+            "building", orderStatusUpdate.getBuilding(),
+            "roomType", orderStatusUpdate.getRoomType(),
+            "roomNumber", orderStatusUpdate.getRoomNumber(),
+            "deliveryTime", orderStatusUpdate.getDeliveryTime().toString()
         );
 
-        rabbitTemplate.convertAndSend( "smunch.events", "runner.order.ready", payload );
-
-        System.out.println("Sent ready-for-collection email for order " + orderId + " to " + runnerEmail);
+        readyCoalescer.enqueue(runnerId, runnerEmail, order, date, Timeslot.fromDeliveryTime(sgTime));
     }
 
 
     public void assignOrdersToAvailableRunners(List<PendingOrder> orders, LocalDate date, Timeslot slot) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        String runId = UUID.randomUUID().toString();
+
         List<Long> availableRunners = availabilityService.getAvailableRunnerIds(date, slot);
 
         if (availableRunners.isEmpty()) {
@@ -130,6 +143,7 @@ public class RunnerAssignmentService {
         int orderIndex = 0;
 
         Map<Long, List<OrderDetails>> ordersByRunner = new HashMap<>();
+        List<RunnerAssignment> assignments = new ArrayList<>(orders.size());
 
         for (PendingOrder order : orders) {
             Long runnerId = availableRunners.get(orderIndex % runnerCount);
@@ -139,10 +153,9 @@ public class RunnerAssignmentService {
             assignment.setOrderId(order.getOrderId());
             assignment.setDate(date);
             assignment.setTimeslot(slot);
-            assignmentRepo.save(assignment);
+            assignments.add(assignment);
 
             order.setAssigned(true);
-            pendingOrderRepo.save(order);
 
             List<String> itemNames = new ArrayList<>();
             try {
@@ -168,11 +181,23 @@ public class RunnerAssignmentService {
             orderIndex++;
         }
 
+        // One transaction so Hibernate can batch the inserts/updates
+        transactionTemplate.executeWithoutResult(status -> {
+            assignmentRepo.saveAll(assignments);
+            pendingOrderRepo.markAssigned(orders.stream().map(PendingOrder::getOrderId).toList());
+            for (RunnerAssignment assignment : assignments) {
+                assignmentCache.putAssignment(assignment.getOrderId(), assignment.getRunnerId(), date);
+            }
+        });
+        for (RunnerAssignment assignment : assignments) {
+            auditService.recordAssignment(runId, assignment);
+        }
+
         for (Map.Entry<Long, List<OrderDetails>> entry : ordersByRunner.entrySet()) {
             Long runnerId = entry.getKey();
             List<OrderDetails> assignedOrders = entry.getValue();
 
-            String runnerEmail = availabilityRepo.findEmailByRunnerId(runnerId, date);
+            String runnerEmail = assignmentCache.getRunnerEmail(runnerId, date);
 
             Map<String, Object> payload = Map.of(
                 "runnerEmail", runnerEmail,
@@ -181,6 +206,11 @@ public class RunnerAssignmentService {
 
             rabbitTemplate.convertAndSend("smunch.events", "runner.assignment", payload);
         }
+
+        Map<Long, Integer> loadByRunner = new HashMap<>();
+        ordersByRunner.forEach((runnerId, assigned) -> loadByRunner.put(runnerId, assigned.size()));
+        auditService.recordRun(runId, date, slot, ASSIGNMENT_STRATEGY, loadByRunner, runnerCount,
+            startedAt, (System.nanoTime() - startNanos) / 1_000_000);
     }
 
     public List<PendingOrder> getAssignedOrdersForRunner(Long runnerId, LocalDate date) {
@@ -192,14 +222,12 @@ public class RunnerAssignmentService {
     }
 
     public void resetAllAssignments() {
-        List<PendingOrder> assignedOrders = pendingOrderRepo.findByAssignedTrue();
+        auditService.recordReset(assignmentRepo.findAll());
 
-        for (PendingOrder order : assignedOrders) {
-            order.setAssigned(false);
-        }
-        pendingOrderRepo.saveAll(assignedOrders);
+        transactionTemplate.executeWithoutResult(status -> pendingOrderRepo.unassignAll());
 
         assignmentRepo.deleteAll();
+        assignmentCache.clear();
 
         System.out.println("All runner assignments deleted and pending orders reset.");
     }
@@ -31,9 +31,11 @@ public class RunnerAvailabilityService {
             throw new IllegalStateException("You have already set availability for tomorrow. Use update instead.");
         }
 
+        List<RunnerAvailability> records = new ArrayList<>();
         for (Timeslot slot : slots) {
-            repository.save(new RunnerAvailability(null, runnerId, slot, targetDate, runnerEmail));
+            records.add(new RunnerAvailability(null, runnerId, slot, targetDate, runnerEmail));
         }
+        repository.saveAll(records);
     }
 
     public void setAvailabilityToday( Long runnerId, List<Timeslot> slots, String runnerEmail) {
@@ -43,9 +45,11 @@ public class RunnerAvailabilityService {
             throw new IllegalStateException("You have already set availability for tomorrow. Use update instead.");
         }
 
+        List<RunnerAvailability> records = new ArrayList<>();
         for (Timeslot slot : slots) {
-            repository.save(new RunnerAvailability(null, runnerId, slot, targetDate, runnerEmail));
+            records.add(new RunnerAvailability(null, runnerId, slot, targetDate, runnerEmail));
         }
+        repository.saveAll(records);
     }
 
     // public void addTimeslots(Long runnerId, List<Timeslot> slotsToAdd) {
@@ -94,7 +98,8 @@ public class RunnerAvailabilityService {
         return slots;
     }
 
-    @Scheduled(cron = "0 0 0 * * *")  
+    // Off unless runners.availability.cleanup-cron is set, e.g. 0 0 0 * * *
+    @Scheduled(cron = "${runners.availability.cleanup-cron:-}")
     public void cleanupOldAvailability() {
         LocalDate today = LocalDate.now();
         repository.deleteByDateBefore(today); 
@@ -0,0 +1,13 @@
+-- One-time upgrade for databases created before ids moved from IDENTITY to pooled sequences.
+-- Hibernate (ddl-auto=update) creates the sequences starting at 1; move them past existing ids.
+-- Run once against the runner database before starting the new version.
+
+CREATE SEQUENCE IF NOT EXISTS runner_assignments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS runners_availability_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('runner_assignments_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM runner_assignments));
+SELECT setval('runners_availability_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM runners_availability));
+
+-- Old identity columns would still hand out their own defaults; drop them
+ALTER TABLE runner_assignments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE runners_availability ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,152 @@
+package com.example.runner;
+
+import com.example.runner.model.PendingOrder;
+import com.example.runner.model.RunnerAssignment;
+import com.example.runner.model.RunnerAvailability;
+import com.example.runner.model.Timeslot;
+import com.example.runner.repository.PendingOrderRepository;
+import com.example.runner.repository.RunnerAssignmentRepository;
+import com.example.runner.repository.RunnerAvailabilityRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Insert throughput of one-save-per-row (the old write path) versus one
+ * batched saveAll in a single transaction, for assignment and availability rows,
+ * plus marking pending orders assigned via saveAll (merge) versus one bulk UPDATE.
+ *
+ * Skipped by default. Point it at a real Postgres to get meaningful numbers:
+ *
+ *   mvn test -Dtest=InsertThroughputBenchmark -Dbenchmark=true \
+ *     -Dspring.datasource.url=jdbc:postgresql://localhost:5438/runnerdb \
+ *     -Dspring.profiles.active=production -Dlogging.level.root=WARN
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertThroughputBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5000);
+
+    @Autowired
+    private RunnerAssignmentRepository assignmentRepo;
+
+    @Autowired
+    private RunnerAvailabilityRepository availabilityRepo;
+
+    @Autowired
+    private PendingOrderRepository pendingOrderRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDate date = LocalDate.of(2030, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        assignmentRepo.deleteAllInBatch();
+        availabilityRepo.deleteAllInBatch();
+        pendingOrderRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void assignmentInserts() {
+        compare("runner_assignments",
+            i -> new RunnerAssignment(null, (long) (i % 40), (long) i, date, Timeslot.SLOT_2),
+            assignmentRepo::save,
+            rows -> assignmentRepo.saveAll(rows),
+            assignmentRepo::deleteAllInBatch);
+    }
+
+    @Test
+    void availabilityInserts() {
+        compare("runners_availability",
+            i -> new RunnerAvailability(null, (long) i, Timeslot.values()[i % 4], date, "r" + i + "@example.com"),
+            availabilityRepo::save,
+            rows -> availabilityRepo.saveAll(rows),
+            availabilityRepo::deleteAllInBatch);
+    }
+
+    @Test
+    void pendingOrderUpdates() {
+        List<PendingOrder> seeded = rows(this::pendingOrder, ROWS);
+        transactionTemplate.executeWithoutResult(status -> pendingOrderRepo.saveAll(seeded));
+        List<Long> ids = seeded.stream().map(PendingOrder::getOrderId).toList();
+
+        // the orders the scheduler hands over are detached, so saveAll merges each one
+        List<PendingOrder> detached = pendingOrderRepo.findAllById(ids);
+        detached.forEach(order -> order.setAssigned(true));
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> pendingOrderRepo.saveAll(detached));
+        long mergeNanos = System.nanoTime() - start;
+
+        transactionTemplate.executeWithoutResult(status -> pendingOrderRepo.unassignAll());
+        start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> pendingOrderRepo.markAssigned(ids));
+        long bulkNanos = System.nanoTime() - start;
+        pendingOrderRepo.deleteAllInBatch();
+
+        System.out.printf("pending_orders: %d rows | saveAll (merge) %.0f rows/s | bulk UPDATE %.0f rows/s | %.1fx%n",
+            ROWS, rate(mergeNanos), rate(bulkNanos), (double) mergeNanos / bulkNanos);
+    }
+
+    private PendingOrder pendingOrder(int i) {
+        PendingOrder order = new PendingOrder();
+        order.setOrderId(1_000_000L + i);
+        order.setDeliveryTime(LocalDateTime.of(2030, 1, 1, 12, 0));
+        order.setBuilding("SCIS");
+        order.setRoomType("Seminar Room");
+        order.setRoomNumber("2-" + (i % 20));
+        order.setMerchantId((long) (i % 30));
+        order.setCustomerEmail("c" + i + "@example.com");
+        order.setTotalAmountCents(1200);
+        order.setItemsJson("[]");
+        order.setTimeslot(Timeslot.SLOT_2);
+        return order;
+    }
+
+    private <T> void compare(String table, IntFunction<T> factory,
+                             java.util.function.Consumer<T> saveOne,
+                             java.util.function.Consumer<List<T>> saveAll,
+                             Runnable cleanup) {
+        // warm up the connection pool, sequence and statement cache
+        saveAll.accept(rows(factory, 200));
+        cleanup.run();
+
+        List<T> single = rows(factory, ROWS);
+        long start = System.nanoTime();
+        single.forEach(saveOne);
+        long singleNanos = System.nanoTime() - start;
+        cleanup.run();
+
+        List<T> batched = rows(factory, ROWS);
+        start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> saveAll.accept(batched));
+        long batchedNanos = System.nanoTime() - start;
+        cleanup.run();
+
+        System.out.printf("%s: %d rows | per-row save %.0f rows/s | batched saveAll %.0f rows/s | %.1fx%n",
+            table, ROWS, rate(singleNanos), rate(batchedNanos), (double) singleNanos / batchedNanos);
+    }
+
+    private <T> List<T> rows(IntFunction<T> factory, int count) {
+        List<T> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(factory.apply(i));
+        }
+        return rows;
+    }
+
+    private double rate(long nanos) {
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+}
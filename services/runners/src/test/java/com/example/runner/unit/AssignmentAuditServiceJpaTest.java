@@ -0,0 +1,107 @@
+package com.example.runner.unit;
+
+import com.example.runner.model.*;
+import com.example.runner.repository.AssignmentHistoryRepository;
+import com.example.runner.repository.AssignmentRunRepository;
+import com.example.runner.repository.AssignmentSlotStatsRepository;
+import com.example.runner.service.AssignmentAuditService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Flushes through a real persistence context (embedded H2), so a retried batch
+ * goes through the same save path as in production. The slot rollup upsert is
+ * Postgres SQL and stays mocked; it is also where the first flush fails.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssignmentAuditServiceJpaTest {
+
+    @Autowired
+    private AssignmentRunRepository runRepo;
+
+    @Autowired
+    private AssignmentHistoryRepository historyRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AssignmentSlotStatsRepository statsRepo;
+    private AssignmentAuditService service;
+
+    private final LocalDate date = LocalDate.of(2025, 11, 12);
+
+    @BeforeEach
+    void setUp() {
+        statsRepo = mock(AssignmentSlotStatsRepository.class);
+        service = new AssignmentAuditService(runRepo, historyRepo, statsRepo, new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyRepo.deleteAll();
+        runRepo.deleteAll();
+    }
+
+    @Test
+    void flush_failedBatchIsWrittenOnNextFlush() {
+        service.recordRun("r1", date, Timeslot.SLOT_2, "ROUND_ROBIN", Map.of(1L, 1), 1, LocalDateTime.now(), 5);
+        service.recordAssignment("r1", new RunnerAssignment(null, 1L, 100L, date, Timeslot.SLOT_2));
+        service.recordAssignment("r1", new RunnerAssignment(null, 1L, 101L, date, Timeslot.SLOT_2));
+        doThrow(new RuntimeException("connection reset")).doNothing().when(statsRepo)
+            .addDelta(any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt());
+
+        service.flush();
+        assertThat(runRepo.count()).isZero();
+        assertThat(historyRepo.count()).isZero();
+
+        service.flush();
+        assertThat(runRepo.findAll()).extracting(AssignmentRun::getRunId).containsExactly("r1");
+        assertThat(historyRepo.findAll()).extracting(AssignmentHistory::getOrderId)
+            .containsExactlyInAnyOrder(100L, 101L);
+    }
+
+    @Test
+    void flush_rowIsDroppedAfterMaxAttempts() {
+        ReflectionTestUtils.setField(service, "maxAttempts", 2);
+        service.recordRun("r1", date, Timeslot.SLOT_2, "ROUND_ROBIN", Map.of(1L, 1), 1, LocalDateTime.now(), 5);
+        doThrow(new RuntimeException("value too long")).when(statsRepo)
+            .addDelta(any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt());
+
+        service.flush();
+        service.flush();
+        service.flush();
+
+        verify(statsRepo, times(2))
+            .addDelta(any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt());
+        assertThat(runRepo.count()).isZero();
+    }
+
+    @Test
+    void record_dropsRowsOnceQueueIsFull() {
+        ReflectionTestUtils.setField(service, "maxQueued", 1);
+        service.recordAssignment("r1", new RunnerAssignment(null, 1L, 100L, date, Timeslot.SLOT_2));
+        service.recordAssignment("r1", new RunnerAssignment(null, 1L, 101L, date, Timeslot.SLOT_2));
+
+        service.flush();
+
+        assertThat(historyRepo.findAll()).extracting(AssignmentHistory::getOrderId).containsExactly(100L);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.runner.unit;
+
+import com.example.runner.model.*;
+import com.example.runner.repository.AssignmentHistoryRepository;
+import com.example.runner.repository.AssignmentRunRepository;
+import com.example.runner.repository.AssignmentSlotStatsRepository;
+import com.example.runner.service.AssignmentAuditService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AssignmentAuditServiceTest {
+
+    private AssignmentRunRepository runRepo;
+    private AssignmentHistoryRepository historyRepo;
+    private AssignmentSlotStatsRepository statsRepo;
+    private AssignmentAuditService service;
+
+    private final LocalDate date = LocalDate.of(2025, 11, 12);
+
+    @BeforeEach
+    void setUp() {
+        runRepo = mock(AssignmentRunRepository.class);
+        historyRepo = mock(AssignmentHistoryRepository.class);
+        statsRepo = mock(AssignmentSlotStatsRepository.class);
+        service = new AssignmentAuditService(runRepo, historyRepo, statsRepo,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void recordOnly_doesNotTouchRepositories() {
+        service.recordRun("r1", date, Timeslot.SLOT_2, "ROUND_ROBIN", Map.of(1L, 2), 1, LocalDateTime.now(), 5);
+        service.recordAssignment("r1", new RunnerAssignment(null, 1L, 100L, date, Timeslot.SLOT_2));
+
+        verifyNoInteractions(runRepo, historyRepo, statsRepo);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_writesBatchesAndRollsUpPerSlot() {
+        service.recordRun("r1", date, Timeslot.SLOT_2, "ROUND_ROBIN", Map.of(1L, 3, 2L, 1), 3, LocalDateTime.now(), 40);
+        service.recordRun("r2", date, Timeslot.SLOT_2, "ROUND_ROBIN", Map.of(1L, 2), 1, LocalDateTime.now(), 10);
+        service.recordAssignment("r1", new RunnerAssignment(null, 1L, 100L, date, Timeslot.SLOT_2));
+        service.recordReset(List.of(new RunnerAssignment(5L, 1L, 100L, date, Timeslot.SLOT_2)));
+
+        service.flush();
+
+        ArgumentCaptor<List<AssignmentRun>> runs = ArgumentCaptor.forClass(List.class);
+        verify(runRepo).saveAll(runs.capture());
+        assertThat(runs.getValue()).hasSize(2);
+        AssignmentRun first = runs.getValue().get(0);
+        assertThat(first.getOrdersAssigned()).isEqualTo(4);
+        assertThat(first.getMaxRunnerLoad()).isEqualTo(3);
+        assertThat(first.getMinRunnerLoad()).isZero(); // third runner got nothing
+
+        // one upsert for the slot: 2 runs, 6 orders, max 3 runners, max load 3, 50 ms total, 40 ms max, 1 reset
+        verify(statsRepo).addDelta(date, "SLOT_2", 2, 6, 3, 3, 50L, 40L, 1);
+        verifyNoMoreInteractions(statsRepo);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_failedBatchIsRequeuedAndRetried() {
+        service.recordRun("r1", date, Timeslot.SLOT_2, "ROUND_ROBIN", Map.of(1L, 1), 1, LocalDateTime.now(), 5);
+        service.recordAssignment("r1", new RunnerAssignment(null, 1L, 100L, date, Timeslot.SLOT_2));
+        doThrow(new RuntimeException("duplicate key")).doNothing().when(statsRepo)
+            .addDelta(any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt());
+
+        service.flush();
+        service.flush();
+
+        ArgumentCaptor<List<AssignmentHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(historyRepo, times(2)).saveAll(history.capture());
+        assertThat(history.getAllValues().get(1)).hasSize(1);
+        verify(runRepo, times(2)).saveAll(argThat(runs -> ((List<AssignmentRun>) runs).size() == 1));
+        verify(statsRepo, times(2)).addDelta(date, "SLOT_2", 1, 1, 1, 1, 5L, 5L, 0);
+    }
+
+    @Test
+    void flush_withNothingQueued_isNoOp() {
+        service.flush();
+
+        verifyNoInteractions(runRepo, historyRepo, statsRepo);
+    }
+}
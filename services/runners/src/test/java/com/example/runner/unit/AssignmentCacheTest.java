@@ -0,0 +1,89 @@
+package com.example.runner.unit;
+
+import com.example.runner.repository.RunnerAssignmentRepository;
+import com.example.runner.repository.RunnerAvailabilityRepository;
+import com.example.runner.repository.RunnerIdView;
+import com.example.runner.service.AssignmentCache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class AssignmentCacheTest {
+
+    private RunnerAssignmentRepository assignmentRepo;
+    private RunnerAvailabilityRepository availabilityRepo;
+    private AssignmentCache cache;
+
+    private final LocalDate today = LocalDate.of(2025, 11, 12);
+
+    @BeforeEach
+    void setUp() {
+        assignmentRepo = mock(RunnerAssignmentRepository.class);
+        availabilityRepo = mock(RunnerAvailabilityRepository.class);
+        cache = new AssignmentCache(assignmentRepo, availabilityRepo);
+    }
+
+    @Test
+    void cachedAssignment_isServedWithoutDb() {
+        for (long orderId = 1; orderId <= 1000; orderId++) {
+            cache.putAssignment(orderId, orderId % 7, today);
+        }
+
+        assertThat(cache.getRunnerId(500L)).isEqualTo(500L % 7);
+        assertThat(cache.getRunnerId(1000L)).isEqualTo(1000L % 7);
+        verifyNoInteractions(assignmentRepo);
+    }
+
+    @Test
+    void miss_fallsBackToProjectionAndCachesResult() {
+        when(assignmentRepo.findRunnerIdByOrderId(42L)).thenReturn(Optional.of(view(9L, today)));
+
+        assertThat(cache.getRunnerId(42L)).isEqualTo(9L);
+        assertThat(cache.getRunnerId(42L)).isEqualTo(9L);
+
+        verify(assignmentRepo, times(1)).findRunnerIdByOrderId(42L);
+    }
+
+    @Test
+    void unknownOrder_returnsNull() {
+        when(assignmentRepo.findRunnerIdByOrderId(42L)).thenReturn(Optional.empty());
+
+        assertThat(cache.getRunnerId(42L)).isNull();
+    }
+
+    @Test
+    void evictBefore_dropsPastDaysOnly() {
+        cache.putAssignment(1L, 10L, today.minusDays(1));
+        cache.putAssignment(2L, 20L, today);
+        when(assignmentRepo.findRunnerIdByOrderId(1L)).thenReturn(Optional.empty());
+
+        cache.evictBefore(today);
+
+        assertThat(cache.getRunnerId(2L)).isEqualTo(20L);
+        assertThat(cache.getRunnerId(1L)).isNull();
+        verify(assignmentRepo).findRunnerIdByOrderId(1L);
+    }
+
+    @Test
+    void runnerEmail_isLookedUpOncePerDay() {
+        when(availabilityRepo.findEmailByRunnerId(7L, today)).thenReturn("r7@example.com");
+
+        assertThat(cache.getRunnerEmail(7L, today)).isEqualTo("r7@example.com");
+        assertThat(cache.getRunnerEmail(7L, today)).isEqualTo("r7@example.com");
+
+        verify(availabilityRepo, times(1)).findEmailByRunnerId(7L, today);
+    }
+
+    private RunnerIdView view(Long runnerId, LocalDate date) {
+        return new RunnerIdView() {
+            public Long getRunnerId() { return runnerId; }
+            public LocalDate getDate() { return date; }
+        };
+    }
+}
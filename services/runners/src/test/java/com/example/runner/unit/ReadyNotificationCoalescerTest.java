@@ -0,0 +1,124 @@
+package com.example.runner.unit;
+
+import com.example.runner.model.Timeslot;
+import com.example.runner.service.ReadyNotificationCoalescer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReadyNotificationCoalescerTest {
+
+    private RabbitTemplate rabbitTemplate;
+    private ReadyNotificationCoalescer coalescer;
+
+    private final LocalDate date = LocalDate.of(2025, 11, 12);
+    private final LocalDateTime now = date.atTime(11, 20);
+
+    @BeforeEach
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        coalescer = new ReadyNotificationCoalescer(rabbitTemplate, 30_000, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eventsWithinWindow_areSentAsOneEmail() {
+        coalescer.enqueue(1L, "r1@example.com", order(100L), date, Timeslot.SLOT_2, now);
+        coalescer.enqueue(1L, "r1@example.com", order(101L), date, Timeslot.SLOT_2, now.plusSeconds(5));
+
+        coalescer.flushDue(now.plusSeconds(10));
+        verifyNoInteractions(rabbitTemplate);
+
+        coalescer.flushDue(now.plusSeconds(30));
+
+        Map<String, Object> payload = captureSingleSend();
+        assertThat(payload.get("to")).isEqualTo("r1@example.com");
+        assertThat(payload.get("subject")).isEqualTo("2 Orders Ready for Collection");
+        Map<String, Object> variables = (Map<String, Object>) payload.get("variables");
+        assertThat((List<?>) variables.get("orders")).hasSize(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void singleEvent_keepsSingleOrderPayload() {
+        coalescer.enqueue(1L, "r1@example.com", order(100L), date, Timeslot.SLOT_2, now);
+
+        coalescer.flushDue(now.plusSeconds(30));
+
+        Map<String, Object> payload = captureSingleSend();
+        assertThat(payload.get("subject")).isEqualTo("Order Ready for Collection");
+        assertThat(((Map<String, Object>) payload.get("variables")).get("orderId")).isEqualTo(100L);
+    }
+
+    @Test
+    void reachingSizeThreshold_flushesImmediately() {
+        coalescer.enqueue(1L, "r1@example.com", order(100L), date, Timeslot.SLOT_2, now);
+        coalescer.enqueue(1L, "r1@example.com", order(101L), date, Timeslot.SLOT_2, now);
+        coalescer.enqueue(1L, "r1@example.com", order(102L), date, Timeslot.SLOT_2, now);
+
+        Map<String, Object> payload = captureSingleSend();
+        assertThat(payload.get("subject")).isEqualTo("3 Orders Ready for Collection");
+    }
+
+    @Test
+    void slotEnd_flushesBeforeWindowElapses() {
+        LocalDateTime nearSlotEnd = date.atTime(11, 59, 50);
+        coalescer.enqueue(1L, "r1@example.com", order(100L), date, Timeslot.SLOT_2, nearSlotEnd);
+
+        coalescer.flushDue(date.atTime(12, 0));
+
+        captureSingleSend();
+    }
+
+    @Test
+    void batchesAreKeptPerRunner() {
+        coalescer.enqueue(1L, "r1@example.com", order(100L), date, Timeslot.SLOT_2, now);
+        coalescer.enqueue(2L, "r2@example.com", order(200L), date, Timeslot.SLOT_2, now);
+
+        coalescer.flushDue(now.plusSeconds(30));
+
+        verify(rabbitTemplate, times(2)).convertAndSend(eq("smunch.events"), eq("runner.order.ready"), any(Object.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedPublish_isRetriedWithOrdersQueuedSince() {
+        doThrow(new AmqpConnectException(new java.net.ConnectException("refused")))
+            .doNothing()
+            .when(rabbitTemplate).convertAndSend(eq("smunch.events"), eq("runner.order.ready"), any(Object.class));
+        coalescer.enqueue(1L, "r1@example.com", order(100L), date, Timeslot.SLOT_2, now);
+
+        coalescer.flushDue(now.plusSeconds(30));
+        coalescer.enqueue(1L, "r1@example.com", order(101L), date, Timeslot.SLOT_2, now.plusSeconds(31));
+        coalescer.flushDue(now.plusSeconds(32));
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(rabbitTemplate, times(2)).convertAndSend(eq("smunch.events"), eq("runner.order.ready"), captor.capture());
+        Map<String, Object> retried = (Map<String, Object>) captor.getAllValues().get(1);
+        assertThat(retried.get("subject")).isEqualTo("2 Orders Ready for Collection");
+    }
+
+    private Map<String, Object> order(Long orderId) {
+        return Map.of("orderId", orderId, "building", "SCIS", "roomType", "SR", "roomNumber", "2-1",
+            "deliveryTime", "2025-11-12T11:30");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> captureSingleSend() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(rabbitTemplate, times(1)).convertAndSend(eq("smunch.events"), eq("runner.order.ready"), captor.capture());
+        return (Map<String, Object>) captor.getValue();
+    }
+}